@@ -0,0 +1,135 @@
+// Class with the benchmarks of the board engine and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.Tile;
+
+/**
+ * Benchmarks of the board engine.
+ * 
+ * <p>
+ * Measures the throughput of power propagation, player moves, copying the
+ * board, rotating a single tile and the win check on every board of the
+ * corpus. Run with {@code -prof gc} to get the allocation rate per operation
+ * too.
+ * </p>
+ * 
+ * <p>
+ * Moves and tile rotations cycle through a fixed sequence of tiles, so the
+ * board keeps changing like in a real game instead of toggling one tile.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    /** Number of rows and columns of the measured board. */
+    @Param({ "5", "11", "32", "128", "512", "1024" })
+    public int size;
+
+    /** The measured board. */
+    private Board board;
+
+    /** Tiles rotated by the move benchmarks, in order. */
+    private Tile[] tiles;
+
+    /** Index of the next rotated tile. */
+    private int next_tile;
+
+    /**
+     * Creates the board of the corpus for the measured size.
+     */
+    @Setup
+    public void setUp() {
+        board = BoardCorpus.createBoard(size);
+        tiles = BoardCorpus.pickTiles(board);
+    }
+
+    /**
+     * Propagates power through the whole board from the source.
+     * 
+     * @return The board, so the work is not eliminated
+     */
+    @Benchmark
+    public Board propagatePower() {
+        board.propagatePower();
+        return board;
+    }
+
+    /**
+     * Rotates a tile as a player move, including the incremental power update.
+     * 
+     * @return The board, so the work is not eliminated
+     */
+    @Benchmark
+    public Board turnTile() {
+        Tile tile = nextTile();
+        board.turnTile(tile.getRow(), tile.getCol());
+        return board;
+    }
+
+    /**
+     * Copies the whole board.
+     * 
+     * @return The copy
+     */
+    @Benchmark
+    public Board deepCopy() {
+        return board.deepCopy();
+    }
+
+    /**
+     * Rotates a single tile without updating the power.
+     * 
+     * @return The connections of the tile after the rotation
+     */
+    @Benchmark
+    public int tileTurn() {
+        Tile tile = nextTile();
+        tile.turn();
+        return tile.getConnectionMask();
+    }
+
+    /**
+     * Checks the win condition.
+     * 
+     * @return true if all light bulbs are powered
+     */
+    @Benchmark
+    public boolean areAllLightBulbsPowered() {
+        return board.areAllLightBulbsPowered();
+    }
+
+    /**
+     * Gets the next tile of the fixed sequence.
+     * 
+     * @return The tile
+     */
+    private Tile nextTile() {
+        Tile tile = tiles[next_tile];
+        next_tile = (next_tile + 1) % tiles.length;
+        return tile;
+    }
+}
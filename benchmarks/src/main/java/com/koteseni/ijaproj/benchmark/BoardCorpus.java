@@ -0,0 +1,93 @@
+// Class creating the fixed boards measured by the benchmarks and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.BoardGenerator;
+import com.koteseni.ijaproj.model.Tile;
+
+/**
+ * Creates the fixed boards measured by the benchmarks.
+ * 
+ * <p>
+ * Every board is generated with a random generator seeded by its size, so all
+ * runs and all benchmarks measure exactly the same boards. The sizes go from
+ * the smallest and largest difficulty of the game up to boards far larger than
+ * the game generates, where the cost per cell dominates.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class BoardCorpus {
+
+    /** Seed combined with the board size for every board of the corpus. */
+    private static final long SEED = 0x6B6F7465L;
+
+    /** Number of precomputed tile positions a benchmark cycles through. */
+    public static final int POSITION_COUNT = 1024;
+
+    /**
+     * Prevents creating instances of this class.
+     */
+    private BoardCorpus() {
+    }
+
+    /**
+     * Creates the board of the corpus with the specified size.
+     * 
+     * @param size Number of rows and columns of the board
+     * 
+     * @return A newly generated board, the same for every call with the size
+     */
+    public static Board createBoard(int size) {
+        Board board = new Board(size, size);
+        new BoardGenerator(board, createRandom(size)).generate();
+
+        return board;
+    }
+
+    /**
+     * Creates the random generator the board of the corpus with the specified
+     * size is generated with.
+     * 
+     * @param size Number of rows and columns of the board
+     * 
+     * @return A newly seeded random generator, the same sequence for every call
+     *         with the size
+     */
+    public static Random createRandom(int size) {
+        return new Random(SEED ^ size);
+    }
+
+    /**
+     * Picks tiles of a board in a fixed random order.
+     * 
+     * @param board The board to pick the tiles from
+     * 
+     * @return POSITION_COUNT tiles, the same for every call with the same board
+     */
+    public static Tile[] pickTiles(Board board) {
+        List<Tile> tiles = new ArrayList<>();
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                Tile tile = board.getTile(row, col);
+                if (tile != null) {
+                    tiles.add(tile);
+                }
+            }
+        }
+
+        Random random = new Random(SEED ^ board.getRows());
+        Tile[] picked = new Tile[POSITION_COUNT];
+        for (int i = 0; i < picked.length; i++) {
+            picked[i] = tiles.get(random.nextInt(tiles.size()));
+        }
+
+        return picked;
+    }
+}
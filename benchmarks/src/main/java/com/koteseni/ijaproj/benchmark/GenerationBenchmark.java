@@ -0,0 +1,217 @@
+// Class with the benchmarks of the board generation and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.BoardGenerator;
+import com.koteseni.ijaproj.model.Cell;
+
+/**
+ * Benchmarks of the board generation.
+ * 
+ * <p>
+ * Measures the average time of generating a whole board, which is what the
+ * player waits for when starting a game, and of each of its phases on their
+ * own. The sizes are the boards of all four difficulties and larger custom
+ * boards, where the cost per cell dominates.
+ * </p>
+ * 
+ * <p>
+ * Every phase gets a fresh copy of the board left by the previous phases,
+ * prepared outside of the measured time. The copies are made for every call,
+ * so the phases are only measured well on boards taking at least a few
+ * microseconds.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    /** Number of rows and columns of the generated board. */
+    @Param({ "5", "7", "9", "11", "32", "128", "512" })
+    public int size;
+
+    /** Spanning tree of the board, the same for every call. */
+    private Map<String, Cell> tree_nodes;
+
+    /** Board with only the source placed. */
+    private Board tree_board;
+
+    /** Board with the source and the light bulbs placed. */
+    private Board bulb_board;
+
+    /** Board with all tiles placed in their correct rotations. */
+    private Board placed_board;
+
+    /**
+     * Runs the phases once, keeping the board after each of them.
+     */
+    @Setup
+    public void setUp() {
+        tree_board = new Board(size, size);
+        BoardGenerator generator = new BoardGenerator(tree_board, BoardCorpus.createRandom(size));
+        tree_nodes = generator.generateSpanningTree(size / 2, size / 2, size, size);
+
+        bulb_board = tree_board.deepCopy();
+        new BoardGenerator(bulb_board, BoardCorpus.createRandom(size)).placeLightBulbs(tree_nodes);
+
+        placed_board = bulb_board.deepCopy();
+        new BoardGenerator(placed_board, BoardCorpus.createRandom(size)).placeWires(tree_nodes);
+    }
+
+    /**
+     * Generates a whole board like a new game does.
+     * 
+     * @return The generated board
+     */
+    @Benchmark
+    public Board generate() {
+        Board board = new Board(size, size);
+        new BoardGenerator(board, BoardCorpus.createRandom(size)).generate();
+
+        return board;
+    }
+
+    /**
+     * Generates the spanning tree and places the source.
+     * 
+     * @return The spanning tree
+     */
+    @Benchmark
+    public Map<String, Cell> generateSpanningTree() {
+        Board board = new Board(size, size);
+        BoardGenerator generator = new BoardGenerator(board, BoardCorpus.createRandom(size));
+
+        return generator.generateSpanningTree(size / 2, size / 2, size, size);
+    }
+
+    /**
+     * Places the light bulbs on the leaves of the spanning tree.
+     * 
+     * @param copy Fresh copy of the board with only the source
+     * 
+     * @return The board
+     */
+    @Benchmark
+    public Board placeLightBulbs(TreeBoardCopy copy) {
+        copy.generator.placeLightBulbs(tree_nodes);
+        return copy.board;
+    }
+
+    /**
+     * Places the wires on the remaining cells of the spanning tree.
+     * 
+     * @param copy Fresh copy of the board with the source and the light bulbs
+     * 
+     * @return The board
+     */
+    @Benchmark
+    public Board placeWires(BulbBoardCopy copy) {
+        copy.generator.placeWires(tree_nodes);
+        return copy.board;
+    }
+
+    /**
+     * Scrambles the rotations of a filled board.
+     * 
+     * @param copy Fresh copy of the board with all tiles placed
+     * 
+     * @return The board
+     */
+    @Benchmark
+    public Board scramble(PlacedBoardCopy copy) {
+        copy.generator.scramble();
+        return copy.board;
+    }
+
+    /**
+     * Fresh copy of a board prepared by the benchmark, made before every call.
+     */
+    public abstract static class BoardCopy {
+
+        /** The copied board. */
+        Board board;
+
+        /** Generator working on the copied board, seeded the same for every call. */
+        BoardGenerator generator;
+
+        /**
+         * Copies the board before a call.
+         * 
+         * @param benchmark The benchmark holding the boards
+         */
+        @Setup(Level.Invocation)
+        public void copy(GenerationBenchmark benchmark) {
+            board = getBoard(benchmark).deepCopy();
+            generator = new BoardGenerator(board, BoardCorpus.createRandom(benchmark.size));
+        }
+
+        /**
+         * Gets the board to copy.
+         * 
+         * @param benchmark The benchmark holding the boards
+         * 
+         * @return The board
+         */
+        abstract Board getBoard(GenerationBenchmark benchmark);
+    }
+
+    /**
+     * Copy of the board with only the source placed.
+     */
+    @State(Scope.Thread)
+    public static class TreeBoardCopy extends BoardCopy {
+
+        @Override
+        Board getBoard(GenerationBenchmark benchmark) {
+            return benchmark.tree_board;
+        }
+    }
+
+    /**
+     * Copy of the board with the source and the light bulbs placed.
+     */
+    @State(Scope.Thread)
+    public static class BulbBoardCopy extends BoardCopy {
+
+        @Override
+        Board getBoard(GenerationBenchmark benchmark) {
+            return benchmark.bulb_board;
+        }
+    }
+
+    /**
+     * Copy of the board with all tiles placed.
+     */
+    @State(Scope.Thread)
+    public static class PlacedBoardCopy extends BoardCopy {
+
+        @Override
+        Board getBoard(GenerationBenchmark benchmark) {
+            return benchmark.placed_board;
+        }
+    }
+}
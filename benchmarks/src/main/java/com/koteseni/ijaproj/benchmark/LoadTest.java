@@ -0,0 +1,430 @@
+// Command line tool playing many games at once with bots to measure the capacity and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.benchmark;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.BoardChange;
+import com.koteseni.ijaproj.model.BoardGenerator;
+import com.koteseni.ijaproj.model.GameLogger;
+import com.koteseni.ijaproj.model.GameSession;
+import com.koteseni.ijaproj.model.LatencyHistogram;
+import com.koteseni.ijaproj.model.RotateTile;
+import com.koteseni.ijaproj.model.Tile;
+
+/**
+ * Command line tool playing many games at once with bots to measure the
+ * capacity of a single JVM.
+ * 
+ * <p>
+ * Every game runs like in the game view without the GUI: a board is
+ * generated, a game session with its own model thread and game logger plays
+ * it, a bot clicks tiles through the same commands as the player and finally
+ * the game is saved. The bots run on virtual threads, each waits for the
+ * change set of its move before the next click, so the time between the click
+ * and the change set is the move latency a player would see.
+ * </p>
+ * 
+ * <p>
+ * The random bot clicks random tiles until the board is solved or it runs out
+ * of moves, the solver bot turns every tile into its correct rotation, like a
+ * player following the hints. Saves are written into a temporary directory
+ * and removed right away.
+ * </p>
+ * 
+ * <p>
+ * Reports the games and moves per second, the move latency percentiles and
+ * the peak heap usage with its share per concurrent game.
+ * </p>
+ * 
+ * <p>
+ * Usage: {@code LoadTest [games] [concurrent games] [difficulty] [random|solver] [think time ms]}
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class LoadTest {
+
+    /** Number of games played when no number is given. */
+    private static final int DEFAULT_GAMES = 2000;
+
+    /** Number of games played at once when no number is given. */
+    private static final int DEFAULT_CONCURRENCY = 200;
+
+    /** Difficulty level of the games when no level is given, the largest one. */
+    private static final int DEFAULT_DIFFICULTY = 4;
+
+    /** Highest number of moves of the random bot in one game. */
+    private static final int RANDOM_BOT_MOVES = 200;
+
+    /** Time to wait for the change set of a move or for a save, in seconds. */
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /** Interval of sampling the heap usage, in milliseconds. */
+    private static final long HEAP_SAMPLE_MILLIS = 100;
+
+    /** Nanoseconds in a microsecond. */
+    private static final long NANOS_PER_MICRO = 1000;
+
+    /** Bytes in a megabyte. */
+    private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+    /**
+     * Strategy of the bots.
+     */
+    public enum Bot {
+        /** Clicks random tiles. */
+        RANDOM,
+
+        /** Turns every tile into its correct rotation. */
+        SOLVER
+    }
+
+    /** Number of games to play. */
+    private final int games;
+
+    /** Number of games played at once. */
+    private final int concurrency;
+
+    /** Difficulty level of the games. */
+    private final int difficulty;
+
+    /** Strategy of the bots. */
+    private final Bot bot;
+
+    /** Pause of the bot before every click, in milliseconds. */
+    private final long think_millis;
+
+    /** Number of finished games. */
+    private final AtomicInteger finished_count = new AtomicInteger();
+
+    /** Number of finished games with a solved board. */
+    private final AtomicInteger solved_count = new AtomicInteger();
+
+    /** Number of games that failed. */
+    private final AtomicInteger failed_count = new AtomicInteger();
+
+    /** Number of moves made in all games. */
+    private final LongAdder move_count = new LongAdder();
+
+    /** Move latencies of all finished games in nanoseconds, guarded by itself. */
+    private final LatencyHistogram move_latencies = new LatencyHistogram();
+
+    /** Highest sampled heap usage in bytes. */
+    private final AtomicLong peak_heap_bytes = new AtomicLong();
+
+    /** Directory for the saves of all games. */
+    private Path save_directory;
+
+    /**
+     * Creates a new load test.
+     * 
+     * @param games        Number of games to play
+     * @param concurrency  Number of games played at once
+     * @param difficulty   Difficulty level of the games
+     * @param bot          Strategy of the bots
+     * @param think_millis Pause of the bot before every click, in milliseconds
+     */
+    public LoadTest(int games, int concurrency, int difficulty, Bot bot, long think_millis) {
+        this.games = games;
+        this.concurrency = concurrency;
+        this.difficulty = difficulty;
+        this.bot = bot;
+        this.think_millis = think_millis;
+    }
+
+    /**
+     * The entry point of the load test.
+     * 
+     * @param args Optional number of games, number of concurrent games,
+     *             difficulty level, bot and think time
+     * 
+     * @throws IOException          If the directory for the saves cannot be
+     *                              created
+     * @throws InterruptedException If interrupted while waiting for the games
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CONCURRENCY;
+        int difficulty = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_DIFFICULTY;
+        Bot bot = args.length > 3 ? Bot.valueOf(args[3].toUpperCase(Locale.ROOT)) : Bot.RANDOM;
+        long think_millis = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        LoadTest load_test = new LoadTest(games, concurrency, difficulty, bot, think_millis);
+        load_test.run();
+
+        if (load_test.failed_count.get() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays all games and prints the report.
+     * 
+     * <p>
+     * A new game starts as soon as one of the running games finishes, so the
+     * number of concurrent games stays the same for the whole run.
+     * </p>
+     * 
+     * @throws IOException          If the directory for the saves cannot be
+     *                              created
+     * @throws InterruptedException If interrupted while waiting for the games
+     */
+    public void run() throws IOException, InterruptedException {
+        save_directory = Files.createTempDirectory("koteseni-load-test");
+
+        MemoryMXBean memory_bean = ManagementFactory.getMemoryMXBean();
+        long start_heap_bytes = memory_bean.getHeapMemoryUsage().getUsed();
+        peak_heap_bytes.set(start_heap_bytes);
+        Thread heap_sampler = Thread.ofPlatform().daemon().name("heap-sampler").start(() -> sampleHeap(memory_bean));
+
+        Semaphore running_games = new Semaphore(concurrency);
+        long start_nanos = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int game = 0; game < games; game++) {
+                running_games.acquire();
+
+                int game_number = game;
+                executor.execute(() -> {
+                    try {
+                        playGame(game_number);
+                    } finally {
+                        running_games.release();
+                    }
+                });
+            }
+        }
+
+        long elapsed_nanos = System.nanoTime() - start_nanos;
+        heap_sampler.interrupt();
+        Files.deleteIfExists(save_directory);
+
+        printReport(elapsed_nanos, start_heap_bytes, memory_bean.getHeapMemoryUsage().getMax());
+    }
+
+    /**
+     * Plays a single game from generating the board to saving it.
+     * 
+     * @param game Number of the game, seeds its board
+     */
+    private void playGame(int game) {
+        int board_size = BoardGenerator.getBoardSize(difficulty);
+        Random random = new Random(game);
+
+        // the bot keeps its own copy of the board like the game view, with the correct rotations for the solver
+        Board board = new Board(board_size, board_size);
+        new BoardGenerator(board, random).generate();
+
+        Board session_board = board.deepCopy();
+        GameLogger game_logger = new GameLogger(session_board, difficulty);
+        BlockingQueue<BoardChange> changes = new LinkedBlockingQueue<>();
+        LatencyHistogram latencies = new LatencyHistogram();
+
+        try (GameSession game_session = new GameSession(session_board, game_logger, changes::add)) {
+            BotGame bot_game = new BotGame(game_session, changes, board, latencies);
+            boolean solved = switch (bot) {
+                case RANDOM -> bot_game.playRandom(random);
+                case SOLVER -> bot_game.playSolver();
+            };
+
+            Path game_directory = save_directory.resolve("game-" + game);
+            Path save_path = Paths.get(game_session.saveGame(game_directory).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Files.delete(save_path);
+            Files.delete(game_directory);
+
+            finished_count.incrementAndGet();
+            if (solved) {
+                solved_count.incrementAndGet();
+            }
+            move_count.add(bot_game.moves);
+            synchronized (move_latencies) {
+                move_latencies.add(latencies);
+            }
+        } catch (IOException | ExecutionException | TimeoutException e) {
+            failed_count.incrementAndGet();
+            System.err.println("Error in game " + game + ": " + e.getMessage());
+        } catch (InterruptedException e) {
+            failed_count.incrementAndGet();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Samples the heap usage until interrupted, keeping the highest one.
+     * 
+     * @param memory_bean The memory bean of the JVM
+     */
+    private void sampleHeap(MemoryMXBean memory_bean) {
+        try {
+            while (true) {
+                peak_heap_bytes.accumulateAndGet(memory_bean.getHeapMemoryUsage().getUsed(), Math::max);
+                Thread.sleep(HEAP_SAMPLE_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prints the results of the run.
+     * 
+     * @param elapsed_nanos    Duration of the run in nanoseconds
+     * @param start_heap_bytes Heap usage before the first game in bytes
+     * @param max_heap_bytes   Maximum heap size in bytes, -1 if undefined
+     */
+    private void printReport(long elapsed_nanos, long start_heap_bytes, long max_heap_bytes) {
+        double seconds = elapsed_nanos / 1e9;
+        long moves = move_count.sum();
+        long peak_heap = peak_heap_bytes.get();
+
+        System.out.printf("Played %d %s games at difficulty %d, %d at once: %d solved, %d unsolved, %d failed%n",
+                games, bot.name().toLowerCase(Locale.ROOT), difficulty, concurrency, solved_count.get(),
+                finished_count.get() - solved_count.get(), failed_count.get());
+        System.out.printf("Duration:     %.2fs%n", seconds);
+        System.out.printf("Games:        %.1f per second%n", finished_count.get() / seconds);
+        System.out.printf("Moves:        %d, %.1f per second%n", moves, moves / seconds);
+        System.out.printf("Move latency: p50 %dus  p99 %dus  max %dus%n",
+                move_latencies.getValueAtPercentile(50) / NANOS_PER_MICRO,
+                move_latencies.getValueAtPercentile(99) / NANOS_PER_MICRO, move_latencies.getMax() / NANOS_PER_MICRO);
+        System.out.printf("Heap:         peak %.1fMB of %.1fMB, about %.1fKB per concurrent game%n",
+                peak_heap / BYTES_PER_MEGABYTE, max_heap_bytes / BYTES_PER_MEGABYTE,
+                Math.max(0, peak_heap - start_heap_bytes) / 1024.0 / concurrency);
+    }
+
+    /**
+     * A game played by a bot.
+     */
+    private final class BotGame {
+        /** The session playing the game. */
+        private final GameSession game_session;
+
+        /** Change sets published by the session. */
+        private final BlockingQueue<BoardChange> changes;
+
+        /** The copy of the board kept by the bot. */
+        private final Board board;
+
+        /** Latencies of the moves of the game in nanoseconds. */
+        private final LatencyHistogram latencies;
+
+        /** Number of moves made. */
+        private int moves;
+
+        /**
+         * Creates a new game played by a bot.
+         * 
+         * @param game_session The session playing the game
+         * @param changes      Change sets published by the session
+         * @param board        The copy of the board kept by the bot
+         * @param latencies    Latencies of the moves in nanoseconds
+         */
+        BotGame(GameSession game_session, BlockingQueue<BoardChange> changes, Board board,
+                LatencyHistogram latencies) {
+            this.game_session = game_session;
+            this.changes = changes;
+            this.board = board;
+            this.latencies = latencies;
+        }
+
+        /**
+         * Clicks random tiles until the board is solved or the bot runs out of
+         * moves.
+         * 
+         * @param random Random generator of the game
+         * 
+         * @return true if the board was solved, false otherwise
+         * 
+         * @throws IOException          If the session does not publish a move
+         * @throws InterruptedException If interrupted while waiting for a move
+         */
+        boolean playRandom(Random random) throws IOException, InterruptedException {
+            for (int i = 0; i < RANDOM_BOT_MOVES; i++) {
+                if (click(random.nextInt(board.getRows()), random.nextInt(board.getCols()))) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Turns every tile into its correct rotation, stopping once the board is
+         * solved.
+         * 
+         * @return true if the board was solved, false otherwise
+         * 
+         * @throws IOException          If the session does not publish a move
+         * @throws InterruptedException If interrupted while waiting for a move
+         */
+        boolean playSolver() throws IOException, InterruptedException {
+            for (int row = 0; row < board.getRows(); row++) {
+                for (int col = 0; col < board.getCols(); col++) {
+                    Tile tile = board.getTile(row, col);
+                    if (tile == null) {
+                        continue;
+                    }
+
+                    for (int turns = tile.getRotationsToCorrect(); turns > 0; turns--) {
+                        if (click(row, col)) {
+                            return true;
+                        }
+                    }
+                }
+            }
+
+            return false;
+        }
+
+        /**
+         * Clicks a tile and waits for the change set of the move.
+         * 
+         * @param row Row position of the tile
+         * @param col Column position of the tile
+         * 
+         * @return true if the move solved the board, false otherwise
+         * 
+         * @throws IOException          If the session does not publish the move
+         * @throws InterruptedException If interrupted while thinking or waiting
+         */
+        private boolean click(int row, int col) throws IOException, InterruptedException {
+            if (think_millis > 0) {
+                Thread.sleep(think_millis);
+            }
+
+            long start_nanos = System.nanoTime();
+            game_session.submit(new RotateTile(row, col));
+
+            BoardChange change = changes.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (change == null) {
+                throw new IOException("No change published within " + TIMEOUT_SECONDS + "s");
+            }
+            latencies.record(System.nanoTime() - start_nanos);
+
+            change.applyTo(board);
+            moves++;
+
+            return change.isSolved();
+        }
+    }
+}
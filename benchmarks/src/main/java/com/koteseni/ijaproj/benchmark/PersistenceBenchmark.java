@@ -0,0 +1,139 @@
+// Class with the benchmarks of saving and loading games and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.GameLogger;
+import com.koteseni.ijaproj.model.GameState;
+import com.koteseni.ijaproj.model.Tile;
+
+/**
+ * Benchmarks of saving and loading games.
+ * 
+ * <p>
+ * Measures the average time of saving a game, loading it back and rebuilding
+ * its initial board, which is what the player waits for when saving a game and
+ * when opening a replay. Every game has the same number of moves, so the sizes
+ * show the cost of the board itself.
+ * </p>
+ * 
+ * <p>
+ * The saves are written into a temporary directory removed after the run, the
+ * saves of the player are never touched. Every call overwrites the same file.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    /** Number of moves logged in every saved game. */
+    private static final int MOVE_COUNT = 200;
+
+    /** Number of rows and columns of the saved board. */
+    @Param({ "5", "7", "9", "11", "32", "128", "512" })
+    public int size;
+
+    /** Logger of the saved game. */
+    private GameLogger game_logger;
+
+    /** Temporary directory for the saves. */
+    private Path directory;
+
+    /** Path to the save of the game. */
+    private String save_path;
+
+    /** The loaded save of the game. */
+    private GameState game_state;
+
+    /**
+     * Plays the game of the corpus board and saves it once.
+     * 
+     * @throws IOException If the save cannot be written or loaded
+     */
+    @Setup
+    public void setUp() throws IOException {
+        Board board = BoardCorpus.createBoard(size);
+        // the difficulty the size belongs to in the game, the custom sizes continue the sequence
+        game_logger = new GameLogger(board, (size - 3) / 2);
+
+        Tile[] tiles = BoardCorpus.pickTiles(board);
+        for (int i = 0; i < MOVE_COUNT; i++) {
+            game_logger.logMove(tiles[i].getRow(), tiles[i].getCol());
+        }
+
+        directory = Files.createTempDirectory("koteseni-benchmark");
+        save_path = game_logger.saveGame(directory);
+        game_state = GameLogger.loadGame(save_path);
+    }
+
+    /**
+     * Removes the save and its directory.
+     * 
+     * @throws IOException If the save cannot be removed
+     */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Paths.get(save_path));
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Saves the game.
+     * 
+     * @return Path to the save
+     * 
+     * @throws IOException If the save cannot be written
+     */
+    @Benchmark
+    public String saveGame() throws IOException {
+        return game_logger.saveGame(directory);
+    }
+
+    /**
+     * Loads the saved game.
+     * 
+     * @return The loaded game
+     * 
+     * @throws IOException If the save cannot be read
+     */
+    @Benchmark
+    public GameState loadGame() throws IOException {
+        return GameLogger.loadGame(save_path);
+    }
+
+    /**
+     * Rebuilds the initial board of the loaded game.
+     * 
+     * @return The initial board
+     */
+    @Benchmark
+    public Board createInitialBoard() {
+        return game_state.createInitialBoard();
+    }
+}
@@ -0,0 +1,37 @@
+// Launcher class starting the game from the classpath and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj;
+
+import javafx.application.Application;
+
+/**
+ * Starts the game from the classpath.
+ * 
+ * <p>
+ * The java launcher refuses to start a main class extending Application when
+ * JavaFX is not on the module path, which is the case for the jar with
+ * dependencies. This class does not extend it, so {@code java -jar} and
+ * {@code java -cp} with the jar work. Running from the module path, as
+ * {@code mvn javafx:run} does, can start Main directly.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class Launcher {
+
+    /**
+     * Prevents creating instances of this class.
+     */
+    private Launcher() {
+    }
+
+    /**
+     * The main method that launches the JavaFX application.
+     * 
+     * @param args Command line arguments (not used)
+     */
+    public static void main(String[] args) {
+        Application.launch(Main.class, args);
+    }
+}
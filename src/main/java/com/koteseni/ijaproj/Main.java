@@ -4,9 +4,16 @@
 package com.koteseni.ijaproj;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import com.koteseni.ijaproj.controller.SceneController;
+import com.koteseni.ijaproj.model.GameMetrics;
+import com.koteseni.ijaproj.view.AssetPreloader;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
@@ -17,20 +24,75 @@ import javafx.stage.Stage;
  */
 public class Main extends Application {
 
+    /** System property making the game print the time to the first frame and exit. */
+    public static final String STARTUP_BENCHMARK_PROPERTY = "koteseni.startup.benchmark";
+
+    /** System property making the game play a scripted session and exit. */
+    public static final String TRAINING_PROPERTY = "koteseni.training";
+
+    /** Prefix of the line with the time to the first frame printed for the startup benchmark. */
+    public static final String FIRST_FRAME_PREFIX = "time-to-first-frame-ms: ";
+
     /**
      * The entry point for the JavaFX application.
      * 
+     * <p>
+     * Shows the main menu, starts loading the assets of the game in the
+     * background and registers the game metrics for JMX clients. The system
+     * properties {@value #STARTUP_BENCHMARK_PROPERTY} and
+     * {@value #TRAINING_PROPERTY} turn the launch into a startup measurement or
+     * a class data sharing training run.
+     * </p>
+     * 
      * @param stage The primary stage for this application
      * 
      * @throws IOException If the FXML file for the main menu cannot be loaded
      */
     @Override
     public void start(Stage stage) throws IOException {
-        FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("view/main-menu.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 800, 600);
-        stage.setTitle("Koteseni - Main Menu");
-        stage.setScene(scene);
+        SceneController.changeScene("Koteseni - Main Menu", "/com/koteseni/ijaproj/view/main-menu.fxml", stage);
+        if (Boolean.getBoolean(STARTUP_BENCHMARK_PROPERTY)) {
+            reportFirstFrame(stage.getScene());
+        }
         stage.show();
+
+        AssetPreloader.start();
+        GameMetrics.register();
+
+        if (Boolean.getBoolean(TRAINING_PROPERTY)) {
+            StartupTraining.start(stage);
+        }
+    }
+
+    /**
+     * Prints the time from the start of the process to the first frame and
+     * exits.
+     * 
+     * <p>
+     * The first frame is taken as the end of the layout of the first pulse,
+     * right before the scene is handed to the renderer. The process start
+     * includes the JVM startup, which class data sharing shortens.
+     * </p>
+     * 
+     * @param scene The first shown scene
+     */
+    private static void reportFirstFrame(Scene scene) {
+        scene.addPostLayoutPulseListener(new Runnable() {
+            @Override
+            public void run() {
+                scene.removePostLayoutPulseListener(this);
+
+                Optional<Instant> process_start = ProcessHandle.current().info().startInstant();
+                if (process_start.isPresent()) {
+                    long millis = Duration.between(process_start.get(), Instant.now()).toMillis();
+                    System.out.println(FIRST_FRAME_PREFIX + millis);
+                } else {
+                    System.err.println("Error measuring startup: process start time is not available");
+                }
+
+                Platform.runLater(Platform::exit);
+            }
+        });
     }
 
     /**
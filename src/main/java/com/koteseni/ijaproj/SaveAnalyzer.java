@@ -0,0 +1,39 @@
+// Command line tool for computing statistics of saved games without the GUI and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import com.koteseni.ijaproj.model.ReplayAnalytics;
+
+/**
+ * Command line tool for computing statistics of saved games without the GUI.
+ * 
+ * <p>
+ * Usage: {@code SaveAnalyzer [directory]}
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class SaveAnalyzer {
+
+    /** Directory analyzed when no directory is given. */
+    private static final String DEFAULT_SAVES_DIRECTORY = "data/saves";
+
+    /**
+     * The entry point of the save analyzer.
+     *
+     * @param args Optional saves directory
+     * 
+     * @throws IOException If the saves directory cannot be walked
+     */
+    public static void main(String[] args) throws IOException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : DEFAULT_SAVES_DIRECTORY);
+
+        ReplayAnalytics analytics = ReplayAnalytics.analyzeDirectory(directory);
+        System.out.print(analytics.createReport());
+    }
+}
@@ -0,0 +1,141 @@
+// Command line tool for verifying saved games without the GUI and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.GameLogger;
+import com.koteseni.ijaproj.model.GameState;
+
+/**
+ * Command line tool for verifying saved games without the GUI.
+ * 
+ * <p>
+ * Replays every save file in a directory and reports whether the final board
+ * is solved, the number of moves and the duration of the game. Files are
+ * processed in parallel and results are printed as soon as they are ready.
+ * </p>
+ * 
+ * <p>
+ * Usage: {@code SaveVerifier [directory] [threads]}
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class SaveVerifier {
+
+    /** Directory verified when no directory is given. */
+    private static final String DEFAULT_SAVES_DIRECTORY = "data/saves";
+
+    /** Number of queued files per worker thread before the walker waits. */
+    private static final int QUEUED_FILES_PER_THREAD = 4;
+
+    /** Number of verified saves with a solved final board. */
+    private final AtomicInteger solved_count = new AtomicInteger();
+
+    /** Number of verified saves with an unsolved final board. */
+    private final AtomicInteger unsolved_count = new AtomicInteger();
+
+    /** Number of saves that could not be loaded. */
+    private final AtomicInteger failed_count = new AtomicInteger();
+
+    /**
+     * The entry point of the save verifier.
+     *
+     * @param args Optional saves directory and number of worker threads
+     * 
+     * @throws IOException          If the saves directory cannot be walked
+     * @throws InterruptedException If interrupted while waiting for the workers
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = Paths.get(args.length > 0 ? args[0] : DEFAULT_SAVES_DIRECTORY);
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+        SaveVerifier verifier = new SaveVerifier();
+        verifier.verifyDirectory(directory, threads);
+
+        if (verifier.failed_count.get() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Verifies all save files in a directory and its subdirectories.
+     * 
+     * <p>
+     * The work queue is bounded, so the directory walk never runs far ahead of the
+     * workers when verifying a large number of saves.
+     * </p>
+     *
+     * @param directory The directory with the save files
+     * @param threads   Number of worker threads
+     * 
+     * @throws IOException          If the directory cannot be walked
+     * @throws InterruptedException If interrupted while waiting for the workers
+     */
+    public void verifyDirectory(Path directory, int threads) throws IOException, InterruptedException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * QUEUED_FILES_PER_THREAD), new ThreadPoolExecutor.CallerRunsPolicy());
+
+        long start_nanos = System.nanoTime();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.filter(path -> path.toString().endsWith(".json"))
+                    .forEach(path -> executor.execute(() -> System.out.println(verifySave(path))));
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        long elapsed_millis = (System.nanoTime() - start_nanos) / 1_000_000;
+        int total = solved_count.get() + unsolved_count.get() + failed_count.get();
+
+        System.out.println("Verified " + total + " saves in " + elapsed_millis + "ms: " + solved_count.get()
+                + " solved, " + unsolved_count.get() + " unsolved, " + failed_count.get() + " failed");
+    }
+
+    /**
+     * Verifies a single save file.
+     * 
+     * <p>
+     * Replays all moves on the initial board in one batch and checks the win
+     * condition on the final board.
+     * </p>
+     *
+     * @param path Path to the save file
+     * 
+     * @return A report line for the save file
+     */
+    private String verifySave(Path path) {
+        try {
+            GameState game_state = GameLogger.loadGame(path.toString());
+
+            Board board = game_state.createInitialBoard();
+            game_state.applyMoves(board, game_state.getTotalMoves() - 1);
+
+            boolean solved = board.areAllLightBulbsPowered();
+            if (solved) {
+                solved_count.incrementAndGet();
+            } else {
+                unsolved_count.incrementAndGet();
+            }
+
+            return (solved ? "SOLVED   " : "UNSOLVED ") + path + " moves=" + game_state.getTotalMoves()
+                    + " duration=" + game_state.getDuration().toSeconds() + "s";
+        } catch (IOException | RuntimeException e) {
+            failed_count.incrementAndGet();
+
+            return "FAILED   " + path + " " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+// Command line tool measuring the startup time of the game and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Command line tool measuring the startup time of the game.
+ * 
+ * <p>
+ * Launches the game repeatedly in new JVMs with the system property
+ * {@value Main#STARTUP_BENCHMARK_PROPERTY}, so every launch prints the time from
+ * the start of the process to the first frame of the main menu and exits.
+ * Launches without and with the class data sharing archive alternate, so both
+ * see the same state of the machine. The first launch of each kind only warms
+ * the file cache and is not counted.
+ * </p>
+ * 
+ * <p>
+ * The archive is created by the training run, see the cds profile in the
+ * pom.xml. A launch with an archive that does not match the classpath or the
+ * JVM silently falls back to loading the classes, so both rows then show the
+ * same times. The game is launched with the classpath of this tool exactly as
+ * given, so run it from the project root with the same jar path as the
+ * training run, see the readme.
+ * </p>
+ * 
+ * <p>
+ * Usage: {@code StartupBenchmark [launches] [archive]}
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class StartupBenchmark {
+
+    /** Number of measured launches of each kind when no number is given. */
+    private static final int DEFAULT_LAUNCHES = 10;
+
+    /** Archive used when no archive is given. */
+    private static final String DEFAULT_ARCHIVE = "target/app.jsa";
+
+    /** Time after which a launch that did not exit is stopped, in seconds. */
+    private static final long LAUNCH_TIMEOUT_SECONDS = 60;
+
+    /** Path to the java executable running this tool. */
+    private final String java_command;
+
+    /** Classpath of this tool, which contains the game. */
+    private final String class_path;
+
+    /**
+     * Creates a new benchmark launching the game with the JVM and classpath of
+     * this tool.
+     * 
+     * <p>
+     * The archive only matches the exact classpath it was created with, so the
+     * classpath is passed on unchanged.
+     * </p>
+     */
+    public StartupBenchmark() {
+        this.java_command = ProcessHandle.current().info().command().orElse("java");
+        this.class_path = System.getProperty("java.class.path");
+    }
+
+    /**
+     * The entry point of the startup benchmark.
+     * 
+     * @param args Optional number of launches and path to the archive
+     * 
+     * @throws IOException          If the game cannot be launched
+     * @throws InterruptedException If interrupted while waiting for a launch
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int launches = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_LAUNCHES;
+        Path archive = Paths.get(args.length > 1 ? args[1] : DEFAULT_ARCHIVE);
+
+        boolean archive_exists = Files.exists(archive);
+        if (!archive_exists) {
+            System.err.println("Archive " + archive + " not found, measuring only without it");
+        }
+
+        StartupBenchmark benchmark = new StartupBenchmark();
+        long[] default_millis = new long[launches];
+        long[] archive_millis = new long[launches];
+
+        for (int launch = -1; launch < launches; launch++) {
+            long millis = benchmark.measureLaunch(List.of());
+            if (launch >= 0) {
+                default_millis[launch] = millis;
+            }
+
+            if (archive_exists) {
+                millis = benchmark.measureLaunch(List.of("-XX:SharedArchiveFile=" + archive));
+                if (launch >= 0) {
+                    archive_millis[launch] = millis;
+                }
+            }
+        }
+
+        System.out.println("Time to first frame over " + launches + " launches:");
+        printTimes("default", default_millis);
+        if (archive_exists) {
+            printTimes("archive", archive_millis);
+            System.out.printf("Median speedup with archive: %.2fx%n",
+                    (double) median(default_millis) / Math.max(1, median(archive_millis)));
+        }
+    }
+
+    /**
+     * Launches the game once and reads its time to the first frame.
+     * 
+     * @param jvm_options Additional options of the JVM
+     * 
+     * @return Time to the first frame in milliseconds
+     * 
+     * @throws IOException          If the game cannot be launched or does not
+     *                              report the time
+     * @throws InterruptedException If interrupted while waiting for the launch
+     */
+    public long measureLaunch(List<String> jvm_options) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(java_command);
+        command.addAll(jvm_options);
+        command.add("-D" + Main.STARTUP_BENCHMARK_PROPERTY + "=true");
+        command.add("-cp");
+        command.add(class_path);
+        command.add(Launcher.class.getName());
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        long millis = -1;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.startsWith(Main.FIRST_FRAME_PREFIX)) {
+                    millis = Long.parseLong(line.substring(Main.FIRST_FRAME_PREFIX.length()).trim());
+                }
+            }
+        }
+
+        if (!process.waitFor(LAUNCH_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException("Launch did not exit within " + LAUNCH_TIMEOUT_SECONDS + "s");
+        }
+        if (millis < 0) {
+            throw new IOException("Launch exited with " + process.exitValue() + " without reporting the time");
+        }
+
+        return millis;
+    }
+
+    /**
+     * Prints the minimum, median, mean and maximum of measured times.
+     * 
+     * @param name   Name of the kind of launches
+     * @param millis The times in milliseconds
+     */
+    private static void printTimes(String name, long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+
+        System.out.printf("%-8s min %5dms  median %5dms  mean %7.1fms  max %5dms%n", name, sorted[0],
+                median(sorted), Arrays.stream(sorted).average().orElse(0), sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Gets the median of measured times.
+     * 
+     * @param millis The times in milliseconds
+     * 
+     * @return The median, the lower one for an even number of times
+     */
+    private static long median(long[] millis) {
+        long[] sorted = millis.clone();
+        Arrays.sort(sorted);
+
+        return sorted[(sorted.length - 1) / 2];
+    }
+}
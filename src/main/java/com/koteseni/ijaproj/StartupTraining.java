@@ -0,0 +1,259 @@
+// Class playing a scripted session of the game for class data sharing training and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import com.koteseni.ijaproj.controller.GameController;
+import com.koteseni.ijaproj.controller.ReplayController;
+import com.koteseni.ijaproj.controller.SceneController;
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.GameLogger;
+import com.koteseni.ijaproj.model.GameState;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+
+/**
+ * Plays a scripted session of the game and exits.
+ * 
+ * <p>
+ * Started instead of waiting for the player when the system property
+ * {@value Main#TRAINING_PROPERTY} is set. The session goes through the
+ * difficulty menu, plays a few random moves at every difficulty, saves the last
+ * game into a temporary directory, replays it and takes it over, then returns
+ * to the main menu and exits. Running it with
+ * {@code -XX:ArchiveClassesAtExit} records every class a normal session loads
+ * into a class data sharing archive, which later launches map instead of
+ * loading and verifying the classes again.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class StartupTraining {
+
+    /** Delay between two steps, so every scene is laid out and rendered. */
+    private static final Duration STEP_DELAY = Duration.millis(250);
+
+    /** Time after which a stuck training run is stopped, in milliseconds. */
+    private static final long TIMEOUT_MILLIS = 120_000;
+
+    /** Number of random tile clicks in every played game. */
+    private static final int CLICKS_PER_GAME = 20;
+
+    /** Path to the FXML file of the main menu. */
+    private static final String MAIN_MENU_FXML = "/com/koteseni/ijaproj/view/main-menu.fxml";
+
+    /** Path to the FXML file of the difficulty menu. */
+    private static final String DIFFICULTY_MENU_FXML = "/com/koteseni/ijaproj/view/difficulty-menu.fxml";
+
+    /** Path to the FXML file of the game view. */
+    private static final String GAME_VIEW_FXML = "/com/koteseni/ijaproj/view/game-view.fxml";
+
+    /** Path to the FXML file of the replay view. */
+    private static final String REPLAY_VIEW_FXML = "/com/koteseni/ijaproj/view/replay-view.fxml";
+
+    /** The stage the session is played in. */
+    private final Stage stage;
+
+    /** Random generator with a fixed seed, so every training run plays the same clicks. */
+    private final Random random = new Random(0);
+
+    /** Controller of the currently played game. */
+    private GameController game_controller;
+
+    /** Temporary directory for the save of the training run. */
+    private Path training_directory;
+
+    /** Path to the save of the training run. */
+    private String save_path;
+
+    /**
+     * A single step of the training run.
+     */
+    @FunctionalInterface
+    private interface Step {
+
+        /**
+         * Runs the step.
+         * 
+         * @throws IOException If a scene or a save file cannot be loaded
+         */
+        void run() throws IOException;
+    }
+
+    /**
+     * Creates a new training run.
+     * 
+     * @param stage The stage the session is played in
+     */
+    private StartupTraining(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Starts the training run in a shown stage.
+     * 
+     * @param stage The primary stage showing the main menu
+     */
+    public static void start(Stage stage) {
+        Thread.ofPlatform().daemon().name("training-watchdog").start(() -> {
+            try {
+                Thread.sleep(TIMEOUT_MILLIS);
+                System.err.println("Training run timed out after " + TIMEOUT_MILLIS + "ms");
+                System.exit(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        new StartupTraining(stage).play();
+    }
+
+    /**
+     * Plays all steps one after another and exits after the last one.
+     */
+    private void play() {
+        List<Step> steps = new ArrayList<>();
+        steps.add(this::createTrainingDirectory);
+        steps.add(() -> SceneController.changeScene("Koteseni - Difficulty Menu", DIFFICULTY_MENU_FXML, stage));
+        for (int difficulty = 1; difficulty <= GameController.MAX_DIFFICULTY; difficulty++) {
+            int game_difficulty = difficulty;
+            steps.add(() -> startGame(game_difficulty));
+            steps.add(() -> clickTiles(game_difficulty));
+        }
+        steps.add(this::saveGame);
+        steps.add(this::replayGame);
+        steps.add(this::takeOverGame);
+        steps.add(() -> SceneController.changeScene("Koteseni - Main Menu", MAIN_MENU_FXML, stage));
+
+        Timeline timeline = new Timeline();
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            timeline.getKeyFrames().add(new KeyFrame(STEP_DELAY.multiply(i + 1), event -> runStep(step)));
+        }
+        timeline.setOnFinished(event -> finish());
+        timeline.play();
+    }
+
+    /**
+     * Runs a single step, reporting its failure.
+     * 
+     * <p>
+     * A failed step only leaves some classes out of the archive, so the training
+     * run continues with the next one.
+     * </p>
+     * 
+     * @param step The step to run
+     */
+    private void runStep(Step step) {
+        try {
+            step.run();
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error in training run: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the temporary directory for the save of the training run.
+     * 
+     * @throws IOException If the directory cannot be created
+     */
+    private void createTrainingDirectory() throws IOException {
+        training_directory = Files.createTempDirectory("koteseni-training");
+    }
+
+    /**
+     * Shows the game view with a new game.
+     * 
+     * @param difficulty The difficulty level of the game
+     * 
+     * @throws IOException If the game view cannot be loaded
+     */
+    private void startGame(int difficulty) throws IOException {
+        game_controller = SceneController.changeScene("Koteseni", GAME_VIEW_FXML, stage).getController();
+        game_controller.startNewGame(difficulty);
+    }
+
+    /**
+     * Clicks random tiles of the current game.
+     * 
+     * @param difficulty The difficulty level of the game
+     */
+    private void clickTiles(int difficulty) {
+        int board_size = GameController.getBoardSize(difficulty);
+        for (int i = 0; i < CLICKS_PER_GAME; i++) {
+            game_controller.handleTileClick(random.nextInt(board_size), random.nextInt(board_size));
+        }
+    }
+
+    /**
+     * Saves the current game into the temporary directory.
+     * 
+     * <p>
+     * The save finishes on the model thread, its path is set on the FX thread
+     * well before the next step.
+     * </p>
+     */
+    private void saveGame() {
+        game_controller.saveGame(training_directory).whenCompleteAsync((path, error) -> {
+            if (error != null) {
+                System.err.println("Error in training run: " + error.getMessage());
+            } else {
+                save_path = path;
+            }
+        }, Platform::runLater);
+    }
+
+    /**
+     * Shows the replay view with the save of the training run.
+     * 
+     * @throws IOException If the replay view cannot be loaded
+     */
+    private void replayGame() throws IOException {
+        ReplayController replay_controller = SceneController
+                .changeScene("Koteseni - Replay Game", REPLAY_VIEW_FXML, stage).getController();
+        replay_controller.loadGameFromFile(save_path);
+    }
+
+    /**
+     * Takes over the save of the training run from its last move.
+     * 
+     * @throws IOException If the save or the game view cannot be loaded
+     */
+    private void takeOverGame() throws IOException {
+        GameState game_state = GameLogger.loadGame(save_path);
+        Board board = game_state.createBoardAt(game_state.getTotalMoves() - 1);
+
+        game_controller = SceneController.changeScene("Koteseni", GAME_VIEW_FXML, stage).getController();
+        game_controller.takeOver(board, game_state.getDifficulty());
+    }
+
+    /**
+     * Removes the save of the training run and exits the game.
+     */
+    private void finish() {
+        try {
+            if (save_path != null) {
+                Files.deleteIfExists(Paths.get(save_path));
+            }
+            if (training_directory != null) {
+                Files.deleteIfExists(training_directory);
+            }
+        } catch (IOException e) {
+            System.err.println("Error removing training save: " + e.getMessage());
+        }
+
+        Platform.exit();
+    }
+}
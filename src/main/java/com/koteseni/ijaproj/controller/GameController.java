@@ -4,33 +4,40 @@
 package com.koteseni.ijaproj.controller;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import com.koteseni.ijaproj.model.Board;
-import com.koteseni.ijaproj.model.Cell;
-import com.koteseni.ijaproj.model.Direction;
+import com.koteseni.ijaproj.model.BoardChange;
+import com.koteseni.ijaproj.model.BoardGenerator;
 import com.koteseni.ijaproj.model.GameLogger;
-import com.koteseni.ijaproj.model.LightBulb;
-import com.koteseni.ijaproj.model.Source;
+import com.koteseni.ijaproj.model.GameSession;
+import com.koteseni.ijaproj.model.RedoMove;
+import com.koteseni.ijaproj.model.RotateTile;
 import com.koteseni.ijaproj.model.Tile;
-import com.koteseni.ijaproj.model.Wire;
-import com.koteseni.ijaproj.model.WireShape;
-import com.koteseni.ijaproj.view.BoardView;
+import com.koteseni.ijaproj.model.UndoMove;
+import com.koteseni.ijaproj.view.BoardRenderer;
+import com.koteseni.ijaproj.view.LatencyOverlay;
 
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.ButtonBar.ButtonData;
+import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.GridPane;
 import javafx.stage.Stage;
 import javafx.util.Duration;
@@ -40,16 +47,25 @@ import javafx.util.Duration;
  * 
  * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
  */
-public class GameController {
+public class GameController implements ReusableScene {
 
-    /** The game board. */
+    /** Highest difficulty level that can be selected. */
+    public static final int MAX_DIFFICULTY = 4;
+
+    /** The game board shown by the view, a copy of the board of the game session. */
     private Board board;
 
     /** The board view rendering the game board. */
-    private BoardView board_view;
+    private BoardRenderer board_view;
+
+    /** Game session applying the moves on the model thread. */
+    private GameSession game_session;
+
+    /** Change sets published by the game session and not yet applied to the board. */
+    private ConcurrentLinkedQueue<BoardChange> pending_changes = new ConcurrentLinkedQueue<>();
 
-    /** Game logger for tracking moves and game state. */
-    private GameLogger game_logger;
+    /** Flag if applying the pending change sets is already scheduled on the FX thread. */
+    private final AtomicBoolean changes_scheduled = new AtomicBoolean();
 
     /** Path to the last save file. */
     private String last_saved_game_path;
@@ -69,6 +85,9 @@ public class GameController {
     /** Random number generator for board randomization. */
     private final Random random = new Random();
 
+    /** Overlay measuring the latency of clicks, hidden until enabled. */
+    private LatencyOverlay latency_overlay;
+
     /** GridPane where the game board is rendered. */
     @FXML
     private GridPane board_grid;
@@ -81,6 +100,68 @@ public class GameController {
     @FXML
     private Label timer_label;
 
+    /** Label displaying the latency overlay. */
+    @FXML
+    private Label latency_label;
+
+    /** Button to undo the last move. */
+    @FXML
+    private Button undo_button;
+
+    /** Button to redo the last undone move. */
+    @FXML
+    private Button redo_button;
+
+    /**
+     * Initializes the game controller.
+     * 
+     * <p>
+     * Creates the latency overlay, which is toggled with F3, and adds the Ctrl+Z
+     * and Ctrl+Y shortcuts for undo and redo once the view is in a scene.
+     * </p>
+     */
+    public void initialize() {
+        latency_overlay = new LatencyOverlay(latency_label);
+
+        board_grid.sceneProperty().addListener((observable, old_scene, new_scene) -> {
+            if (new_scene != null) {
+                new_scene.getAccelerators().put(new KeyCodeCombination(KeyCode.Z, KeyCombination.SHORTCUT_DOWN),
+                        this::handleUndoButton);
+                new_scene.getAccelerators().put(new KeyCodeCombination(KeyCode.Y, KeyCombination.SHORTCUT_DOWN),
+                        this::handleRedoButton);
+            }
+        });
+    }
+
+    /**
+     * Resets the game controller before the cached game view is shown again.
+     * 
+     * <p>
+     * Stops the timer and the game session, resets the latency overlay, hides the
+     * hints and removes the board of the previous game. The next game is set up
+     * by startNewGame or takeOver.
+     * </p>
+     */
+    @Override
+    public void resetScene() {
+        if (timer != null) {
+            timer.stop();
+        }
+
+        closeGameSession();
+        latency_overlay.reset();
+
+        if (board_view != null) {
+            board_view.dispose();
+            board_view = null;
+        }
+        board_grid.getChildren().clear();
+        board = null;
+
+        hints_enabled = false;
+        last_saved_game_path = null;
+    }
+
     /**
      * Starts a new game with the specified difficulty level.
      * 
@@ -97,382 +178,221 @@ public class GameController {
         initializeTimer();
         updateMoveCounterLabel();
 
-        // the same algorithm for board size that the LightBulb game uses, pretty cool
-        int rows = 5 + (difficulty - 1) * 2;
-        int cols = 5 + (difficulty - 1) * 2;
+        int rows = getBoardSize(difficulty);
+        int cols = getBoardSize(difficulty);
 
         board = new Board(rows, cols);
-        board_view = new BoardView(board_grid, board, this);
+        setBoardView(BoardRenderer.create(board_grid, board, this));
 
-        generateBoard();
+        new BoardGenerator(board, random).generate();
 
-        game_logger = new GameLogger(board, difficulty);
+        startGameSession(difficulty);
         last_saved_game_path = null;
 
         updateBoardView();
     }
 
     /**
-     * Generates the game board.
+     * Gets the number of rows and columns of boards of a difficulty level.
      * 
-     * <p>
-     * Uses a spanning tree algorithm to connect all tiles, randomizes the rotations
-     * and propagates power.
-     * </p>
+     * @param difficulty The difficulty level
+     * 
+     * @return The number of rows and columns
      */
-    private void generateBoard() {
-        int rows = board.getRows();
-        int cols = board.getCols();
-
-        // random source position avoiding edge tiles
-        int source_row = 1 + random.nextInt(rows - 2);
-        int source_col = 1 + random.nextInt(cols - 2);
-
-        Map<String, Cell> tree_nodes = generateSpanningTree(source_row, source_col, rows, cols);
-
-        placeLightBulbs(tree_nodes);
-
-        placeWires(tree_nodes);
-
-        rotateAllTiles180Degrees();
-
-        randomizeBoardRotations();
-
-        board.propagatePower();
+    public static int getBoardSize(int difficulty) {
+        return BoardGenerator.getBoardSize(difficulty);
     }
 
     /**
-     * Generates a spanning tree for the game board.
-     * 
-     * <p>
-     * Creates a connected graph where every cell is reachable from the source cell.
-     * </p>
-     * 
-     * @param source_row Row position of the power source
-     * @param source_col Column position of the power source
-     * @param rows       Number of rows in the board
-     * @param cols       Number of columns in the board
+     * Replaces the board view rendering the game board.
      * 
-     * @return Map of cell positions to Cell objects representing the spanning tree
+     * @param board_view The new board view
      */
-    private Map<String, Cell> generateSpanningTree(int source_row, int source_col, int rows, int cols) {
-        Map<String, Cell> cell_map = new HashMap<>();
-        List<Cell> cells = new ArrayList<>();
-
-        Cell source_cell = new Cell(source_row, source_col);
-        source_cell.setVisited(true);
-        cell_map.put(Cell.cellKey(source_row, source_col), source_cell);
-
-        addUnvisitedNeighborsToCells(source_cell, cells, cell_map, rows, cols);
-
-        while (!cells.isEmpty()) {
-            int i = random.nextInt(cells.size());
-            Cell current = cells.get(i);
-            cells.remove(i);
-
-            if (current.isVisited()) {
-                continue;
-            }
-
-            current.setVisited(true);
-
-            List<Cell> visited_neighbors = getVisitedNeighbors(current, cell_map, rows, cols);
-            if (!visited_neighbors.isEmpty()) {
-                Cell parent = visited_neighbors.get(random.nextInt(visited_neighbors.size()));
-
-                Direction direction_to_parent = Cell.getDirection(current, parent);
-                Direction directino_from_parent = direction_to_parent.getOpposite();
-
-                current.addConnection(direction_to_parent);
-                parent.addConnection(directino_from_parent);
-            }
-
-            addUnvisitedNeighborsToCells(current, cells, cell_map, rows, cols);
+    private void setBoardView(BoardRenderer board_view) {
+        if (this.board_view != null) {
+            this.board_view.dispose();
         }
 
-        EnumSet<Direction> source_connections = EnumSet.noneOf(Direction.class);
-        source_connections.addAll(source_cell.getConnections());
-        WireShape source_shape = WireShape.fromConnections(source_connections);
-        Source source = new Source(source_row, source_col, source_shape);
-        source.setConnections(source_connections);
-        board.setTile(source_row, source_col, source);
-
-        return cell_map;
-    }
-
-    /**
-     * Adds unvisited neighboring cells to the list of cells to visit.
-     *
-     * @param cell     The current cell
-     * @param cells    List of cells to add the neighbors to
-     * @param cell_map Map of cell positions to Cell objects
-     * @param rows     Number of rows in the board
-     * @param cols     Number of columns in the board
-     */
-    private void addUnvisitedNeighborsToCells(Cell cell, List<Cell> cells, Map<String, Cell> cell_map, int rows,
-            int cols) {
-
-        addNeighbor(cell.getRow() - 1, cell.getCol(), cells, cell_map, rows, cols); // North
-        addNeighbor(cell.getRow(), cell.getCol() + 1, cells, cell_map, rows, cols); // East
-        addNeighbor(cell.getRow() + 1, cell.getCol(), cells, cell_map, rows, cols); // South
-        addNeighbor(cell.getRow(), cell.getCol() - 1, cells, cell_map, rows, cols); // West
+        this.board_view = board_view;
+        board_view.setLatencyOverlay(latency_overlay);
     }
 
     /**
-     * Adds a neighbor cell to the list of cells if it's in bounds.
+     * Requests an update of the board view to show the current state of the
+     * board.
      * 
-     * @param row      Row position of the neighbor
-     * @param col      Column position of the neighbor
-     * @param cells    List of cells to add the neighbor to
-     * @param cell_map Map of cell positions to Cell objects
-     * @param rows     Total number of rows in the board
-     * @param cols     Total number of columns in the board
+     * <p>
+     * The update runs on the next pulse, so several clicks within one frame are
+     * rendered only once.
+     * </p>
      */
-    private void addNeighbor(int row, int col, List<Cell> cells, Map<String, Cell> cell_map, int rows,
-            int cols) {
-
-        if (row < 0 || row >= rows || col < 0 || col >= cols) {
-            return;
-        }
-
-        String key = Cell.cellKey(row, col);
-        if (cell_map.containsKey(key)) {
+    private void updateBoardView() {
+        if (board_view == null) {
             return;
         }
 
-        Cell neighbor = new Cell(row, col);
-        cell_map.put(key, neighbor);
-        cells.add(neighbor);
+        board_view.requestUpdate();
     }
 
     /**
-     * Gets all visited neighbors of a cell.
+     * Starts a new game session for the current board.
      * 
-     * @param cell     The current cell
-     * @param cell_map Map of cell positions to Cell objects
-     * @param rows     Number of rows in the board
-     * @param cols     Number of columns in the board
+     * <p>
+     * The session gets its own copy of the board, the board of the controller is
+     * only updated from the change sets published by the session.
+     * </p>
      * 
-     * @return List of visited neighboring cells
+     * @param difficulty The difficulty level of the game
      */
-    private List<Cell> getVisitedNeighbors(Cell cell, Map<String, Cell> cell_map, int rows, int cols) {
-        List<Cell> neighbors = new ArrayList<>();
+    private void startGameSession(int difficulty) {
+        closeGameSession();
 
-        addVisitedNeighbor(cell.getRow() - 1, cell.getCol(), neighbors, cell_map, rows, cols);
-        addVisitedNeighbor(cell.getRow(), cell.getCol() + 1, neighbors, cell_map, rows, cols);
-        addVisitedNeighbor(cell.getRow() + 1, cell.getCol(), neighbors, cell_map, rows, cols);
-        addVisitedNeighbor(cell.getRow(), cell.getCol() - 1, neighbors, cell_map, rows, cols);
+        // every session publishes into its own queue, so late changes of a closed session are never applied
+        ConcurrentLinkedQueue<BoardChange> session_changes = new ConcurrentLinkedQueue<>();
+        pending_changes = session_changes;
 
-        return neighbors;
+        Board session_board = board.deepCopy();
+        GameLogger game_logger = new GameLogger(session_board, difficulty);
+        game_session = new GameSession(session_board, game_logger,
+                change -> publishChange(session_changes, change));
+
+        undo_button.setDisable(true);
+        redo_button.setDisable(true);
     }
 
     /**
-     * Adds a visited neighbor cell to the list of neighbors if in bounds.
-     * 
-     * @param row       Row position of the neighbor
-     * @param col       Column position of the neighbor
-     * @param neighbors List of visited neighbors
-     * @param cell_map  Map of cell positions to Cell objects
-     * @param rows      Total number of rows in the board
-     * @param cols      Total number of columns in the board
+     * Closes the game session, dropping moves that were not applied yet.
      */
-    private void addVisitedNeighbor(int row, int col, List<Cell> neighbors, Map<String, Cell> cell_map, int rows,
-            int cols) {
-
-        if (row < 0 || row >= rows || col < 0 || col >= cols) {
-            return;
+    private void closeGameSession() {
+        if (game_session != null) {
+            game_session.close();
+            game_session = null;
         }
 
-        String key = Cell.cellKey(row, col);
-        Cell neighbor = cell_map.get(key);
-
-        if (neighbor != null && neighbor.isVisited()) {
-            neighbors.add(neighbor);
-        }
+        pending_changes = new ConcurrentLinkedQueue<>();
     }
 
     /**
-     * Gets all leaf cells in the spanning tree.
+     * Receives a change set from the model thread and schedules applying it on
+     * the FX thread.
      * 
      * <p>
-     * Leaf cells have one connection which is perfect for light bulbs.
+     * Change sets published before the scheduled run are applied together.
      * </p>
-     *
-     * @param cell_map Map of cell positions to Cell objects
      * 
-     * @return List of leaf cells
+     * @param session_changes The queue of the session publishing the change set
+     * @param change          The change set
      */
-    private List<Cell> getLeafCells(Map<String, Cell> cell_map) {
-        List<Cell> leaf_cells = new ArrayList<>();
-
-        for (Cell cell : cell_map.values()) {
-            if (cell.getConnections().size() == 1) {
-                leaf_cells.add(cell);
-            }
+    private void publishChange(ConcurrentLinkedQueue<BoardChange> session_changes, BoardChange change) {
+        session_changes.add(change);
+        if (changes_scheduled.compareAndSet(false, true)) {
+            Platform.runLater(this::applyPendingChanges);
         }
-
-        return leaf_cells;
     }
 
     /**
-     * Places light bulbs on the leaf cells.
+     * Applies the pending change sets to the board and updates the view.
      * 
      * <p>
-     * Light bulbs are placed on cells that have one connection orienting them to
-     * face that connection.
+     * Checks the win condition after the board is up to date.
      * </p>
-     * 
-     * @param cell_map Map of cell positions to Cell objects
      */
-    private void placeLightBulbs(Map<String, Cell> cell_map) {
-        List<Cell> leaf_cells = getLeafCells(cell_map);
-
-        for (int i = 0; i < leaf_cells.size(); i++) {
-            Cell cell = leaf_cells.get(i);
-            leaf_cells.remove(i);
-
-            Direction direction = cell.getConnections().iterator().next();
-            LightBulb bulb = new LightBulb(cell.getRow(), cell.getCol(), direction);
-            board.setTile(cell.getRow(), cell.getCol(), bulb);
+    private void applyPendingChanges() {
+        changes_scheduled.set(false);
+
+        BoardChange last_change = null;
+        boolean solved = false;
+        BoardChange change;
+        while ((change = pending_changes.poll()) != null) {
+            change.applyTo(board);
+            solved |= change.isSolved();
+            last_change = change;
         }
-    }
 
-    /**
-     * Places wires on cells which are not light bulbs or the source.
-     * 
-     * @param cell_map Map of cell positions to Cell objects
-     */
-    private void placeWires(Map<String, Cell> cell_map) {
-        for (Cell cell : cell_map.values()) {
-            int row = cell.getRow();
-            int col = cell.getCol();
-            if (board.getTile(row, col) != null) {
-                continue;
-            }
-
-            EnumSet<Direction> connections = EnumSet.noneOf(Direction.class);
-            connections.addAll(cell.getConnections());
+        if (last_change == null) {
+            return;
+        }
 
-            // this converts single connections to a light bulb to avoid trouble with wires
-            if (connections.size() == 1) {
-                Direction direction = connections.iterator().next();
-                LightBulb bulb = new LightBulb(row, col, direction);
-                board.setTile(row, col, bulb);
+        move_count = last_change.getMoveCount();
+        undo_button.setDisable(!last_change.isUndoAvailable());
+        redo_button.setDisable(!last_change.isRedoAvailable());
 
-                continue;
-            }
+        latency_overlay.modelUpdated();
+        updateMoveCounterLabel();
+        updateBoardView();
 
-            Wire wire = new Wire(row, col, WireShape.fromConnections(connections));
-            wire.setConnections(connections);
-            board.setTile(row, col, wire);
+        if (solved) {
+            handleWin();
         }
     }
 
     /**
-     * Randomizes the rotations of tiles on the board.
+     * Saves the game after all moves submitted so far.
      * 
-     * <ol>
-     * <li>Sets the current rotation of each tile as its correct rotation</li>
-     * <li>Randomly rotates each tile</li>
-     * <li>Fail-safe rotating tiles so that not all light bulbs are powered</li>
-     * </ol>
+     * <p>
+     * The save runs on the model thread, the FX thread does not wait for it.
+     * Once it finishes, the last save path is updated and the callback is called
+     * on the FX thread. Neither is done if the game was left in the meantime.
+     * </p>
+     * 
+     * @param on_saved  Called on the FX thread with the path to the save file
+     * @param on_failed Called on the FX thread if there's no game session or the
+     *                  save failed
      */
-    private void randomizeBoardRotations() {
-        int rows = board.getRows();
-        int cols = board.getCols();
-
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                Tile tile = board.getTile(row, col);
-                if (tile == null) {
-                    continue;
-                }
+    private void saveGame(Consumer<String> on_saved, Consumer<IOException> on_failed) {
+        GameSession session = game_session;
 
-                tile.setCorrectRotation(tile.getRotationCount());
-
-                randomizeTileRotation(tile);
+        saveGame(GameLogger.getSavesDirectory()).whenCompleteAsync((save_path, error) -> {
+            if (session != game_session) {
+                return;
             }
-        }
-
-        board.propagatePower();
 
-        // rotate randomly until not every light bulb is powered
-        while (board.areAllLightBulbsPowered()) {
-            int row = random.nextInt(rows);
-            int col = random.nextInt(cols);
-            Tile tile = board.getTile(row, col);
-
-            if (tile instanceof Wire) {
-                tile.turn();
-                board.propagatePower();
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                on_failed.accept(cause instanceof IOException io_exception ? io_exception : new IOException(cause));
+                return;
             }
-        }
-    }
 
-    /**
-     * Randomly rotates a single tile.
-     * 
-     * @param tile The tile to rotate
-     */
-    private void randomizeTileRotation(Tile tile) {
-        if (tile == null) {
-            return;
-        }
-
-        int rotations = random.nextInt(4);
-        for (int i = 0; i < rotations; i++) {
-            tile.turn();
-        }
+            last_saved_game_path = save_path;
+            on_saved.accept(save_path);
+        }, Platform::runLater);
     }
 
     /**
-     * Rotates all tiles on the board by 180 degrees.
+     * Saves the game into a directory after all moves submitted so far.
      * 
      * <p>
-     * This is a workaround for an issue where tiles are initially
-     * rotated -180 degrees from their expected orientation.
+     * Does not change the last save path, so it can be used by tools without
+     * affecting the game. The save runs on the model thread, so the returned
+     * future completes on it.
      * </p>
+     * 
+     * @param directory The directory for the save file
+     * 
+     * @return The path to the save file, completed exceptionally with an
+     *         IOException if there's no game session or the save failed
      */
-    private void rotateAllTiles180Degrees() {
-        int rows = board.getRows();
-        int cols = board.getCols();
-
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                Tile tile = board.getTile(row, col);
-                if (tile != null) {
-                    tile.turn(2);
-                }
-            }
-        }
-    }
-
-    /**
-     * Updates the board view to show the current state of the board.
-     */
-    private void updateBoardView() {
-        if (board_view == null) {
-            return;
+    public CompletableFuture<String> saveGame(Path directory) {
+        if (game_session == null) {
+            return CompletableFuture.failedFuture(new IOException("No game in progress"));
         }
 
-        board_view.updateView();
+        return game_session.saveGame(directory);
     }
 
     /**
      * Handles clicking on tiles.
      * 
-     * <ol>
-     * <li>Rotates the clicked tile</li>
-     * <li>Updates the move counter and label</li>
-     * <li>Logs the move</li>
-     * <li>Checks the win condition</li>
-     * </ol>
+     * <p>
+     * Submits the rotation to the game session. The move counter, the view and
+     * the win condition are updated once the session publishes the changes.
+     * </p>
      *
      * @param row Row position of the clicked tile
      * @param col Column position of the clicked tile
      */
     public void handleTileClick(int row, int col) {
-        if (board == null) {
+        if (board == null || game_session == null) {
             return;
         }
 
@@ -481,21 +401,44 @@ public class GameController {
             return;
         }
 
-        board.turnTile(row, col);
-        move_count++;
-        updateMoveCounterLabel();
-        tile.setPlayerRotationCount(tile.getPlayerRotationCount() + 1);
+        latency_overlay.clickStarted();
+        game_session.submit(new RotateTile(row, col));
+    }
 
-        // log moves in play mode
-        if (game_logger != null) {
-            game_logger.logMove(row, col);
+    /**
+     * Handles clicking on the "Undo" button or pressing Ctrl+Z.
+     * 
+     * <p>
+     * Submits rotating the tile of the last move back to the game session. The
+     * undo is logged, so the replay shows it.
+     * </p>
+     */
+    @FXML
+    public void handleUndoButton() {
+        if (game_session == null) {
+            return;
         }
 
-        updateBoardView();
+        latency_overlay.clickStarted();
+        game_session.submit(new UndoMove());
+    }
 
-        if (board.areAllLightBulbsPowered()) {
-            handleWin();
+    /**
+     * Handles clicking on the "Redo" button or pressing Ctrl+Y.
+     * 
+     * <p>
+     * Submits rotating the tile of the last undone move again to the game
+     * session.
+     * </p>
+     */
+    @FXML
+    public void handleRedoButton() {
+        if (game_session == null) {
+            return;
         }
+
+        latency_overlay.clickStarted();
+        game_session.submit(new RedoMove());
     }
 
     /**
@@ -504,7 +447,7 @@ public class GameController {
      * <ol>
      * <li>Stops the timer</li>
      * <li>Automatically saves the completed game</li>
-     * <li>Shows a win message</li>
+     * <li>Shows a win message once the game is saved</li>
      * <li>Returns to the main menu using the SceneController</li>
      * </ol>
      */
@@ -514,23 +457,19 @@ public class GameController {
         }
 
         // auto save in play mode
-        if (game_logger != null) {
-            try {
-                last_saved_game_path = game_logger.saveGame();
-                DialogUtils.showInfoBox("Game Won!",
-                        "Moves: " + move_count + "\nTime: " + elapsed_seconds + "s\nSaved to: "
-                                + last_saved_game_path);
-            } catch (IOException e) {
-                DialogUtils.showErrorBox("Failed to save completed game: " + e.getMessage());
-            }
+        if (game_session == null) {
+            returnToMainMenu();
+            return;
         }
 
-        try {
-            Stage stage = (Stage) board_grid.getScene().getWindow();
-            SceneController.changeScene("Koteseni - Main Menu", "/com/koteseni/ijaproj/view/main-menu.fxml", stage);
-        } catch (IOException e) {
-            DialogUtils.showErrorBox("Error returning to main menu: " + e.getMessage());
-        }
+        saveGame(save_path -> {
+            DialogUtils.showInfoBox("Game Won!",
+                    "Moves: " + move_count + "\nTime: " + elapsed_seconds + "s\nSaved to: " + save_path);
+            returnToMainMenu();
+        }, e -> {
+            DialogUtils.showErrorBox("Failed to save completed game: " + e.getMessage());
+            returnToMainMenu();
+        });
     }
 
     /**
@@ -546,8 +485,8 @@ public class GameController {
         initializeTimer();
         updateMoveCounterLabel();
 
-        board_view = new BoardView(board_grid, board, this);
-        game_logger = new GameLogger(board, difficulty);
+        setBoardView(BoardRenderer.create(board_grid, board, this));
+        startGameSession(difficulty);
 
         updateBoardView();
     }
@@ -578,17 +517,14 @@ public class GameController {
      * Handles clicking on the "Save" button.
      * 
      * <p>
-     * Saves the current game state to a file.
+     * Saves the current game state to a file and shows its path once it is
+     * saved.
      * </p>
      */
     @FXML
     public void handleSaveButton() {
-        try {
-            last_saved_game_path = game_logger.saveGame();
-            DialogUtils.showInfoBox("Saved to: " + last_saved_game_path);
-        } catch (IOException e) {
-            DialogUtils.showErrorBox("Failed to save game: " + e.getMessage());
-        }
+        saveGame(save_path -> DialogUtils.showInfoBox("Saved to: " + save_path),
+                e -> DialogUtils.showErrorBox("Failed to save game: " + e.getMessage()));
     }
 
     /**
@@ -596,7 +532,8 @@ public class GameController {
      * 
      * <p>
      * Prompts the user if he wants to save the game before returning to the main
-     * menu using the SceneController.
+     * menu using the SceneController. When saving, the main menu is shown once
+     * the game is saved.
      * </p>
      */
     @FXML
@@ -620,13 +557,10 @@ public class GameController {
 
         if (result.isPresent()) {
             if (result.get() == save_button) {
-                try {
-                    last_saved_game_path = game_logger.saveGame();
-                    DialogUtils.showInfoBox("Saved to: " + last_saved_game_path);
+                saveGame(save_path -> {
+                    DialogUtils.showInfoBox("Saved to: " + save_path);
                     returnToMainMenu();
-                } catch (IOException e) {
-                    DialogUtils.showErrorBox("Failed to save game: " + e.getMessage());
-                }
+                }, e -> DialogUtils.showErrorBox("Failed to save game: " + e.getMessage()));
             } else if (result.get() == dont_save_button) {
                 returnToMainMenu();
             } else {
@@ -639,10 +573,15 @@ public class GameController {
      * Returns to the main menu.
      * 
      * <p>
-     * Switches the scene using the SceneController.
+     * Closes the game session and disables the latency overlay, as the cached
+     * game view stays in its scene, and switches the scene using the
+     * SceneController.
      * </p>
      */
     private void returnToMainMenu() {
+        closeGameSession();
+        latency_overlay.setEnabled(false);
+
         try {
             Stage stage = (Stage) board_grid.getScene().getWindow();
             SceneController.changeScene("Koteseni - Main Menu",
@@ -656,11 +595,14 @@ public class GameController {
      * Initializes the game timer.
      * 
      * <p>
-     * Sets up a Timeline that updates the timer label every second.
+     * Resets the timer label and sets up a Timeline that updates it every
+     * second.
      * </p>
      */
     private void initializeTimer() {
         elapsed_seconds = 0;
+        // the cached scene keeps the label of the previous game until the first tick
+        updateTimerLabel();
         if (timer != null) {
             timer.stop();
         }
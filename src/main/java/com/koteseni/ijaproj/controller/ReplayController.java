@@ -12,13 +12,18 @@ import java.util.List;
 import com.koteseni.ijaproj.model.Board;
 import com.koteseni.ijaproj.model.GameLogger;
 import com.koteseni.ijaproj.model.GameState;
-import com.koteseni.ijaproj.view.BoardView;
+import com.koteseni.ijaproj.model.Move;
+import com.koteseni.ijaproj.model.ReplayAnalytics;
+import com.koteseni.ijaproj.view.BoardRenderer;
 
+import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
+import javafx.scene.control.Slider;
 import javafx.scene.layout.GridPane;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
@@ -28,7 +33,13 @@ import javafx.stage.Stage;
  * 
  * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
  */
-public class ReplayController {
+public class ReplayController implements ReusableScene {
+
+    /** Selectable playback speeds as multiples of the real time. */
+    private static final double[] PLAYBACK_SPEEDS = { 0.25, 0.5, 1, 2, 4, 8, 16, 32, 64 };
+
+    /** Index of the default playback speed (1x). */
+    private static final int DEFAULT_PLAYBACK_SPEED_INDEX = 2;
 
     /** List view displaying saved games in the data/saves directory. */
     @FXML
@@ -62,6 +73,22 @@ public class ReplayController {
     @FXML
     private Button step_forward_button;
 
+    /** Slider for seeking to any move of the replay. */
+    @FXML
+    private Slider timeline_slider;
+
+    /** Button to start and pause the automatic playback. */
+    @FXML
+    private Button play_button;
+
+    /** Combo box for selecting the playback speed. */
+    @FXML
+    private ComboBox<String> playback_speed_box;
+
+    /** Button to show and hide the rotation heatmap of the replay. */
+    @FXML
+    private Button heatmap_button;
+
     /** Label showing the current move number. */
     @FXML
     private Label move_counter_label;
@@ -77,7 +104,7 @@ public class ReplayController {
     private Board board;
 
     /** Board view for rendering the board. */
-    private BoardView board_view;
+    private BoardRenderer board_view;
 
     /** Game state of the loaded save file. */
     private GameState current_game_state;
@@ -85,22 +112,103 @@ public class ReplayController {
     /** Index of the current move. */
     private int current_move_index = -1;
 
+    /** Flag for displaying the rotation heatmap overlay. */
+    private boolean heatmap_enabled = false;
+
+    /** Timer driving the automatic playback, called once per rendered frame. */
+    private final AnimationTimer playback_timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            playbackFrame(now);
+        }
+    };
+
+    /** Flag if the automatic playback is running. */
+    private boolean playing = false;
+
+    /** Current playback speed as a multiple of the real time. */
+    private double playback_speed = PLAYBACK_SPEEDS[DEFAULT_PLAYBACK_SPEED_INDEX];
+
+    /** Frame time in nanoseconds the playback clock is anchored at, -1 to anchor on the next frame. */
+    private long playback_anchor_nanos = -1;
+
+    /** Move timestamp in milliseconds the playback clock is anchored at. */
+    private long playback_anchor_timestamp;
+
+    /** Current position of the playback clock as a move timestamp in milliseconds. */
+    private long playback_clock;
+
     /**
      * Initializes the replay controller.
      * 
      * <p>
-     * Sets the buttons to disabled, clears the move counter and the save name
-     * labels and refreshes the list of saved games.
+     * Sets the buttons and the timeline to disabled, fills the playback speeds,
+     * clears the move counter and the save name labels and refreshes the list of
+     * saved games.
      * </p>
      */
     public void initialize() {
+        resetControls();
+
+        for (double speed : PLAYBACK_SPEEDS) {
+            String speed_text = speed == Math.rint(speed) ? String.valueOf((int) speed) : String.valueOf(speed);
+            playback_speed_box.getItems().add(speed_text + "x");
+        }
+        playback_speed_box.getSelectionModel().select(DEFAULT_PLAYBACK_SPEED_INDEX);
+        playback_speed_box.getSelectionModel().selectedIndexProperty()
+                .addListener((observable, old_value, new_value) -> {
+                    if (new_value.intValue() >= 0) {
+                        setPlaybackSpeed(PLAYBACK_SPEEDS[new_value.intValue()]);
+                    }
+                });
+
+        timeline_slider.valueProperty().addListener((observable, old_value, new_value) -> {
+            seekTo((int) Math.round(new_value.doubleValue()));
+        });
+
+        refreshSavedGamesList();
+    }
+
+    /**
+     * Resets the replay controller before the cached replay view is shown again.
+     * 
+     * <p>
+     * Stops the playback, unloads the replayed game and refreshes the list of
+     * saved games, which may contain new games since the last visit.
+     * </p>
+     */
+    @Override
+    public void resetScene() {
+        stopPlayback();
+
+        if (board_view != null) {
+            board_view.dispose();
+            board_view = null;
+        }
+        board_grid.getChildren().clear();
+        board = null;
+        current_game_state = null;
+        current_move_index = -1;
+        heatmap_enabled = false;
+
+        resetControls();
+        saved_games_list.getSelectionModel().clearSelection();
+        refreshSavedGamesList();
+    }
+
+    /**
+     * Sets the buttons and the timeline to disabled and clears the move counter
+     * and the save name labels.
+     */
+    private void resetControls() {
         step_back_button.setDisable(true);
         step_forward_button.setDisable(true);
         take_over_button.setDisable(true);
+        play_button.setDisable(true);
+        heatmap_button.setDisable(true);
+        timeline_slider.setDisable(true);
         move_counter_label.setText("");
         save_name_label.setText("");
-
-        refreshSavedGamesList();
     }
 
     /**
@@ -152,6 +260,8 @@ public class ReplayController {
      */
     @FXML
     private void handleBackButton() {
+        stopPlayback();
+
         try {
             Stage stage = (Stage) back_button.getScene().getWindow();
             SceneController.changeScene("Koteseni - Main Menu",
@@ -165,7 +275,8 @@ public class ReplayController {
      * Handles clicking the "<" button.
      * 
      * <p>
-     * Moves the replay one step back. The button is disabled on the 0th move.
+     * Moves the replay one step back by applying the inverse of the current move
+     * to the replay board. The button is disabled on the 0th move.
      * </p>
      */
     @FXML
@@ -174,15 +285,15 @@ public class ReplayController {
             return;
         }
 
-        if (current_move_index > -1) {
-            current_move_index--;
+        stopPlayback();
 
-            replayMovesUpTo(current_move_index);
-            updateMoveCounter();
+        if (current_move_index > -1) {
+            Move move = current_game_state.getMoves().get(current_move_index);
+            board.revertMove(move);
+            board_view.requestUpdate();
 
-            step_back_button.setDisable(current_move_index < 0);
-            take_over_button.setDisable(current_move_index >= current_game_state.getTotalMoves() - 1);
-            step_forward_button.setDisable(false);
+            current_move_index--;
+            updateReplayControls();
         }
     }
 
@@ -190,7 +301,8 @@ public class ReplayController {
      * Handles clicking the ">" button.
      * 
      * <p>
-     * Moves the replay one step forward. The button is disabled on the last move.
+     * Moves the replay one step forward by applying the next move to the replay
+     * board. The button is disabled on the last move.
      * </p>
      */
     @FXML
@@ -199,17 +311,191 @@ public class ReplayController {
             return;
         }
 
+        stopPlayback();
+
         int total_moves = current_game_state.getTotalMoves() - 1;
 
         if (current_move_index < total_moves) {
             current_move_index++;
 
-            replayMovesUpTo(current_move_index);
-            updateMoveCounter();
+            Move move = current_game_state.getMoves().get(current_move_index);
+            board.applyMove(move);
+            board_view.requestUpdate();
+
+            updateReplayControls();
+        }
+    }
+
+    /**
+     * Seeks the replay to the specified move.
+     * 
+     * <p>
+     * Called when the timeline slider is moved. The replay board is rotated
+     * directly into the state after the move without replaying the moves in
+     * between.
+     * </p>
+     *
+     * @param move_index Index of the move to seek to, -1 for the initial board
+     */
+    private void seekTo(int move_index) {
+        if (current_game_state == null || board == null || move_index == current_move_index) {
+            return;
+        }
+
+        stopPlayback();
+
+        int total_moves = current_game_state.getTotalMoves() - 1;
+        move_index = Math.max(-1, Math.min(move_index, total_moves));
+
+        current_game_state.seek(board, current_move_index, move_index);
+        current_move_index = move_index;
+        board_view.requestUpdate();
+
+        updateReplayControls();
+    }
+
+    /**
+     * Handles clicking the "Heatmap" button.
+     * 
+     * <p>
+     * Toggles an overlay showing how many times each tile was rotated during the
+     * whole replayed game.
+     * </p>
+     */
+    @FXML
+    private void handleHeatmapButton() {
+        if (current_game_state == null) {
+            return;
+        }
+
+        heatmap_enabled = !heatmap_enabled;
+        updateHeatmap();
+        board_view.requestUpdate();
+    }
+
+    /**
+     * Updates the heatmap of the board view to the loaded game.
+     */
+    private void updateHeatmap() {
+        if (!heatmap_enabled) {
+            board_view.setHeatmap(null);
+            return;
+        }
 
-            step_back_button.setDisable(false);
-            take_over_button.setDisable(current_move_index >= total_moves);
-            step_forward_button.setDisable(current_move_index >= total_moves);
+        ReplayAnalytics analytics = ReplayAnalytics.analyze(current_game_state);
+        board_view.setHeatmap(analytics.getRotationHeatmap(current_game_state.getRows(), current_game_state.getCols()));
+    }
+
+    /**
+     * Handles clicking the "Play" button.
+     * 
+     * <p>
+     * Starts the automatic playback from the current move or pauses it when it is
+     * already running.
+     * </p>
+     */
+    @FXML
+    private void handlePlayButton() {
+        if (playing) {
+            stopPlayback();
+        } else {
+            startPlayback();
+        }
+    }
+
+    /**
+     * Starts the automatic playback from the current move.
+     * 
+     * <p>
+     * The playback clock starts at the timestamp of the current move, so the next
+     * move is played after the same delay the player took.
+     * </p>
+     */
+    private void startPlayback() {
+        if (current_game_state == null || current_move_index >= current_game_state.getTotalMoves() - 1) {
+            return;
+        }
+
+        List<Move> moves = current_game_state.getMoves();
+        playback_clock = moves.get(Math.max(current_move_index, 0)).getTimestamp();
+        playback_anchor_timestamp = playback_clock;
+        playback_anchor_nanos = -1;
+
+        playing = true;
+        play_button.setText("Pause");
+        playback_timer.start();
+    }
+
+    /**
+     * Stops the automatic playback if it is running.
+     */
+    private void stopPlayback() {
+        if (!playing) {
+            return;
+        }
+
+        playing = false;
+        playback_timer.stop();
+        play_button.setText("Play");
+    }
+
+    /**
+     * Sets the playback speed.
+     * 
+     * <p>
+     * Re-anchors the playback clock at its current position, so changing the
+     * speed does not make the replay jump.
+     * </p>
+     *
+     * @param speed The playback speed as a multiple of the real time
+     */
+    private void setPlaybackSpeed(double speed) {
+        playback_speed = speed;
+        playback_anchor_timestamp = playback_clock;
+        playback_anchor_nanos = -1;
+    }
+
+    /**
+     * Advances the automatic playback by one rendered frame.
+     * 
+     * <p>
+     * Applies all moves whose timestamps the playback clock has passed since the
+     * last frame as a single batch and renders the board once, so the playback
+     * never lags behind the clock even at high speeds.
+     * </p>
+     *
+     * @param now Timestamp of the current frame in nanoseconds
+     */
+    private void playbackFrame(long now) {
+        if (playback_anchor_nanos < 0) {
+            playback_anchor_nanos = now;
+        }
+
+        double elapsed_millis = (now - playback_anchor_nanos) / 1_000_000.0;
+        playback_clock = playback_anchor_timestamp + (long) (elapsed_millis * playback_speed);
+
+        List<Move> moves = current_game_state.getMoves();
+        int first_move_index = current_move_index + 1;
+        int end_move_index = first_move_index;
+        while (end_move_index < moves.size() && moves.get(end_move_index).getTimestamp() <= playback_clock) {
+            end_move_index++;
+        }
+
+        if (end_move_index - first_move_index == 1) {
+            board.applyMove(moves.get(first_move_index));
+        } else if (end_move_index > first_move_index) {
+            board.turnTiles(moves.subList(first_move_index, end_move_index));
+        }
+
+        if (end_move_index > first_move_index) {
+            current_move_index = end_move_index - 1;
+            // already running once per pulse, a requested update would only show on the next one
+            board_view.updateView();
+            updateReplayControls();
+        }
+
+        if (current_move_index >= moves.size() - 1) {
+            stopPlayback();
         }
     }
 
@@ -227,15 +513,14 @@ public class ReplayController {
             return;
         }
 
+        stopPlayback();
+
         try {
             Stage stage = (Stage) back_button.getScene().getWindow();
             FXMLLoader loader = SceneController.changeScene("Koteseni",
                     "/com/koteseni/ijaproj/view/game-view.fxml", stage);
 
-            Board new_board = current_game_state.createInitialBoard();
-            if (current_move_index >= 0) {
-                current_game_state.applyMoves(new_board, current_move_index);
-            }
+            Board new_board = current_game_state.createBoardAt(current_move_index);
 
             GameController controller = loader.getController();
             controller.takeOver(new_board, current_game_state.getDifficulty());
@@ -251,26 +536,46 @@ public class ReplayController {
      * <li>Parses the save file</li>
      * <li>Creates the initial board</li>
      * <li>Displays the board</li>
-     * <li>Enables step forward and take over buttons</li>
+     * <li>Enables step forward, take over and play buttons and the timeline</li>
      * </ol>
      *
+     * <p>
+     * The replayed game, its board and the current move are only replaced once
+     * the save file is parsed, so a failed load keeps the previous replay
+     * consistent.
+     * </p>
+     *
      * @param file_path Path to the save file
      */
-    private void loadGameFromFile(String file_path) {
+    public void loadGameFromFile(String file_path) {
+        stopPlayback();
+
         try {
-            current_move_index = -1;
+            GameState game_state = GameLogger.loadGame(file_path);
+            Board initial_board = game_state.createInitialBoard();
 
-            current_game_state = GameLogger.loadGame(file_path);
-            board = current_game_state.createInitialBoard();
+            current_game_state = game_state;
+            board = initial_board;
+            current_move_index = -1;
 
-            board_view = new BoardView(board_grid, board, null);
-            board_view.updateView();
+            if (board_view != null) {
+                board_view.dispose();
+            }
+            board_view = BoardRenderer.create(board_grid, board, null);
+            updateHeatmap();
+            board_view.requestUpdate();
 
             save_name_label.setText(current_game_state.getStartTime().format(date_formatter));
 
             step_back_button.setDisable(true);
             step_forward_button.setDisable(false);
             take_over_button.setDisable(false);
+            play_button.setDisable(current_game_state.getTotalMoves() == 0);
+            heatmap_button.setDisable(false);
+
+            timeline_slider.setValue(current_move_index);
+            timeline_slider.setMax(current_game_state.getTotalMoves() - 1);
+            timeline_slider.setDisable(false);
 
             updateMoveCounter();
         } catch (IOException e) {
@@ -278,30 +583,6 @@ public class ReplayController {
         }
     }
 
-    /**
-     * Replays the saved game up to the specified move index.
-     * 
-     * <ol>
-     * <li>Resets the board to the initial state</li>
-     * <li>Applies all moves up to the specified move index</li>
-     * <li>Updates the board view</li>
-     * </ol>
-     *
-     * @param move_index Index of the last move to apply
-     */
-    private void replayMovesUpTo(int move_index) {
-        board = current_game_state.createInitialBoard();
-
-        if (move_index >= 0) {
-            current_game_state.applyMoves(board, move_index);
-        }
-
-        board.propagatePower();
-
-        board_view = new BoardView(board_grid, board, null);
-        board_view.updateView();
-    }
-
     /**
      * Refreshes the list of saved games.
      * 
@@ -326,6 +607,22 @@ public class ReplayController {
         }
     }
 
+    /**
+     * Updates the replay buttons, the timeline and the move counter to the
+     * current move.
+     */
+    private void updateReplayControls() {
+        int last_move_index = current_game_state.getTotalMoves() - 1;
+
+        step_back_button.setDisable(current_move_index < 0);
+        take_over_button.setDisable(current_move_index >= last_move_index);
+        step_forward_button.setDisable(current_move_index >= last_move_index);
+        play_button.setDisable(current_move_index >= last_move_index);
+        timeline_slider.setValue(current_move_index);
+
+        updateMoveCounter();
+    }
+
     /**
      * Updates the move counter label.
      * 
@@ -0,0 +1,27 @@
+// Interface for controllers of scenes which are cached and shown again and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.controller;
+
+/**
+ * Lifecycle hook for controllers of scenes cached by the SceneController.
+ * 
+ * <p>
+ * A scene and its controller are loaded only once, so a controller keeping
+ * state between two visits of its scene implements this interface to clear it.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public interface ReusableScene {
+
+    /**
+     * Resets the controller before its cached scene is shown again.
+     * 
+     * <p>
+     * Not called when the scene is shown for the first time, the controller is
+     * freshly initialized then.
+     * </p>
+     */
+    void resetScene();
+}
@@ -4,6 +4,8 @@
 package com.koteseni.ijaproj.controller;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.koteseni.ijaproj.Main;
 
@@ -15,13 +17,27 @@ import javafx.stage.Stage;
 /**
  * Controller for handling seamless scene transitions.
  * 
+ * <p>
+ * Every FXML file is loaded only once, its scene and controller are cached and
+ * shown again on the next transition to it. Controllers implementing
+ * ReusableScene are reset before their scene is reused.
+ * </p>
+ * 
  * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
  */
 public class SceneController {
 
+    /** Loaders of all loaded scenes by the path to their FXML file, only used on the FX thread. */
+    private static final Map<String, FXMLLoader> loaders = new HashMap<>();
+
     /**
      * Seamlessly changes the current scene to a new one.
-     *
+     * 
+     * <p>
+     * Loads the scene on the first call for the FXML file, later calls show the
+     * cached scene.
+     * </p>
+     * 
      * @param scene_name The window title
      * @param fxml_path  The path to the FXML file where the new scene is defined
      * @param stage      The stage to update with the new scene
@@ -31,11 +47,20 @@ public class SceneController {
      * @throws IOException For errors loading the FXML file
      */
     public static FXMLLoader changeScene(String scene_name, String fxml_path, Stage stage) throws IOException {
-        FXMLLoader loader = new FXMLLoader(Main.class.getResource(fxml_path));
-        Parent root = loader.load();
-        Scene scene = new Scene(root);
+        FXMLLoader loader = loaders.get(fxml_path);
+
+        if (loader == null) {
+            loader = new FXMLLoader(Main.class.getResource(fxml_path));
+            // the scene stays attached to the root, so it is found again through the loader
+            new Scene(loader.<Parent>load());
+            loaders.put(fxml_path, loader);
+        } else if (loader.getController() instanceof ReusableScene reusable_scene) {
+            reusable_scene.resetScene();
+        }
+
+        Parent root = loader.getRoot();
         stage.setTitle(scene_name);
-        stage.setScene(scene);
+        stage.setScene(root.getScene());
         return loader;
     }
 }
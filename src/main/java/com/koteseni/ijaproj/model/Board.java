@@ -64,6 +64,99 @@ public class Board {
      * @param col Column index of the tile to turn
      */
     public void turnTile(int row, int col) {
+        turnTile(row, col, 1);
+    }
+
+    /**
+     * Rotates the tile at the specified position back by 90 degrees and
+     * propagates power.
+     * 
+     * <p>
+     * This is the inverse of turnTile, used for stepping back in a replay.
+     * </p>
+     * 
+     * @param row Row index of the tile to turn back
+     * @param col Column index of the tile to turn back
+     */
+    public void turnTileBack(int row, int col) {
+        turnTile(row, col, 3);
+    }
+
+    /**
+     * Applies a move to the board and propagates power.
+     * 
+     * @param move The move to apply, an undo turns the tile back
+     */
+    public void applyMove(Move move) {
+        turnTile(move.getRow(), move.getCol(), move.getTurns());
+    }
+
+    /**
+     * Reverts a move applied to the board and propagates power.
+     * 
+     * @param move The move to revert, reverting an undo turns the tile forward
+     */
+    public void revertMove(Move move) {
+        turnTile(move.getRow(), move.getCol(), 4 - move.getTurns());
+    }
+
+    /**
+     * Rotates the tiles of all specified moves and propagates power once at the
+     * end.
+     * 
+     * <p>
+     * Rotations are summed per tile modulo 4 first, so applying a batch of moves
+     * costs O(moves + cells) instead of a propagation per move.
+     * </p>
+     * 
+     * @param moves The moves to apply in order
+     */
+    public void turnTiles(List<Move> moves) {
+        int[] turn_counts = new int[rows * cols];
+
+        for (Move move : moves) {
+            int row = move.getRow();
+            int col = move.getCol();
+            if (row < 0 || row >= rows || col < 0 || col >= cols) {
+                continue;
+            }
+
+            turn_counts[row * cols + col] += move.getTurns();
+        }
+
+        turnTiles(turn_counts);
+    }
+
+    /**
+     * Rotates every tile by its number of turns and propagates power once at the
+     * end.
+     * 
+     * @param turn_counts Number of clockwise turns for every tile, indexed by
+     *                    row * cols + col
+     */
+    public void turnTiles(int[] turn_counts) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                Tile tile = tiles[row][col];
+                int count = turn_counts[row * cols + col] % 4;
+                if (tile != null && count != 0) {
+                    tile.turn(count);
+                }
+            }
+        }
+
+        propagatePower();
+    }
+
+    /**
+     * Rotates the tile at the specified position by the specified number of
+     * times clockwise and incrementally updates power.
+     * 
+     * @param row   Row index of the tile to turn
+     * @param col   Column index of the tile to turn
+     * @param count Number of clockwise rotations
+     */
+    private void turnTile(int row, int col, int count) {
         if (row < 0 || row >= rows || col < 0 || col >= cols) {
             return;
         }
@@ -73,30 +166,106 @@ public class Board {
             return;
         }
 
-        tile.turn();
+        boolean was_powered = tile.isPowered();
+        tile.turn(count);
 
-        propagatePower();
+        updatePowerAfterTurn(tile, was_powered);
+    }
+
+    /**
+     * Updates the power state of the board after a single tile was rotated.
+     * 
+     * <p>
+     * An unpowered tile is not part of the powered network, so rotating it can
+     * only extend the network starting from the tile itself. Rotating a powered
+     * tile can cut off a part of the network, which needs a full propagation.
+     * </p>
+     * 
+     * @param tile        The rotated tile
+     * @param was_powered Power state of the tile before the rotation
+     */
+    private void updatePowerAfterTurn(Tile tile, boolean was_powered) {
+        if (was_powered) {
+            propagatePower();
+            return;
+        }
+
+        if (!hasPoweredNeighbor(tile)) {
+            return;
+        }
+
+        PropagationEvent event = new PropagationEvent();
+        event.begin();
+        long start_nanos = System.nanoTime();
+        tile.setPowered(true);
+
+        Queue<Tile> queue = new LinkedList<>();
+        queue.add(tile);
+        int visited_tiles = spreadPower(queue);
+        recordPropagation(event, start_nanos, visited_tiles, true);
     }
 
     /**
      * Propagates power from the source through connected tiles.
      * 
      * <p>
-     * Uses a BFS algorithm for traversing the board.
+     * Uses a BFS algorithm for traversing the board. A board without a source
+     * is still recorded as a propagation visiting no tiles.
      * </p>
      */
     public void propagatePower() {
+        PropagationEvent event = new PropagationEvent();
+        event.begin();
+        long start_nanos = System.nanoTime();
         resetPower();
 
         if (source == null) {
+            recordPropagation(event, start_nanos, 0, false);
             return;
         }
 
         Queue<Tile> queue = new LinkedList<>();
         queue.add(source);
+        int visited_tiles = spreadPower(queue);
+        recordPropagation(event, start_nanos, visited_tiles, false);
+    }
 
+    /**
+     * Records a finished power propagation into the metrics and the flight
+     * recording.
+     * 
+     * @param event         The event started before the propagation
+     * @param start_nanos   Start of the propagation from System.nanoTime()
+     * @param visited_tiles Number of tiles the propagation visited
+     * @param incremental   Flag if only the network of a rotated tile was
+     *                      extended
+     */
+    private void recordPropagation(PropagationEvent event, long start_nanos, int visited_tiles, boolean incremental) {
+        GameMetrics.get().recordPropagation(System.nanoTime() - start_nanos, visited_tiles);
+
+        // the fields are only filled when a recording wants the event
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.cols = cols;
+            event.visited_tiles = visited_tiles;
+            event.incremental = incremental;
+            event.commit();
+        }
+    }
+
+    /**
+     * Spreads power from the powered tiles in the queue to all tiles connected
+     * to them.
+     * 
+     * @param queue Queue used in the BFS algorithm, holding powered tiles
+     * 
+     * @return Number of tiles taken from the queue
+     */
+    private int spreadPower(Queue<Tile> queue) {
+        int visited_tiles = 0;
         while (!queue.isEmpty()) {
             Tile current = queue.poll();
+            visited_tiles++;
 
             int row = current.getRow();
             int col = current.getCol();
@@ -106,6 +275,47 @@ public class Board {
             propagatePowerInDirection(queue, current, row + 1, col, Direction.SOUTH);
             propagatePowerInDirection(queue, current, row, col - 1, Direction.WEST);
         }
+
+        return visited_tiles;
+    }
+
+    /**
+     * Checks if a tile is connected to any powered neighbor.
+     * 
+     * @param tile The tile to check
+     * 
+     * @return true if a powered neighbor would propagate power to the tile,
+     *         false otherwise
+     */
+    private boolean hasPoweredNeighbor(Tile tile) {
+        int row = tile.getRow();
+        int col = tile.getCol();
+
+        return isPoweredFrom(tile, row - 1, col, Direction.SOUTH)
+                || isPoweredFrom(tile, row, col + 1, Direction.WEST)
+                || isPoweredFrom(tile, row + 1, col, Direction.NORTH)
+                || isPoweredFrom(tile, row, col - 1, Direction.EAST);
+    }
+
+    /**
+     * Helper method for checking if a neighbor would propagate power to a tile.
+     * 
+     * @param tile         The tile receiving power
+     * @param neighbor_row Row index of the neighbor
+     * @param neighbor_col Column index of the neighbor
+     * @param direction    Direction from the neighbor to the tile
+     * 
+     * @return true if the neighbor is powered and connected to the tile, false
+     *         otherwise
+     */
+    private boolean isPoweredFrom(Tile tile, int neighbor_row, int neighbor_col, Direction direction) {
+        Tile neighbor = getTile(neighbor_row, neighbor_col);
+        if (neighbor == null || !neighbor.isPowered()) {
+            return false;
+        }
+
+        return neighbor.getConnections().contains(direction.getOpposite())
+                && tile.getConnections().contains(direction);
     }
 
     /**
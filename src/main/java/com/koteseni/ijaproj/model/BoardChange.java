@@ -0,0 +1,199 @@
+// Class representing the changes of the board made by a command and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.util.List;
+
+/**
+ * Immutable set of changes of the board made by a single command.
+ * 
+ * <p>
+ * Published by the model thread of a game session, so the UI can bring its own
+ * copy of the board to the same state without touching the board of the
+ * session.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class BoardChange {
+    /** States of all tiles that changed. */
+    private final List<TileChange> tile_changes;
+
+    /** Number of moves made in the game after the command. */
+    private final long move_count;
+
+    /** Flag if all light bulbs are powered after the command. */
+    private final boolean solved;
+
+    /** Flag if there is a move to undo after the command. */
+    private final boolean undo_available;
+
+    /** Flag if there is an undone move to redo after the command. */
+    private final boolean redo_available;
+
+    /**
+     * Creates a new set of changes.
+     * 
+     * @param tile_changes   States of all tiles that changed
+     * @param move_count     Number of moves made in the game after the command
+     * @param solved         Flag if all light bulbs are powered after the command
+     * @param undo_available Flag if there is a move to undo after the command
+     * @param redo_available Flag if there is an undone move to redo after the
+     *                       command
+     */
+    public BoardChange(List<TileChange> tile_changes, long move_count, boolean solved, boolean undo_available,
+            boolean redo_available) {
+        this.tile_changes = List.copyOf(tile_changes);
+        this.move_count = move_count;
+        this.solved = solved;
+        this.undo_available = undo_available;
+        this.redo_available = redo_available;
+    }
+
+    /**
+     * Gets the states of all tiles that changed.
+     * 
+     * @return Unmodifiable list of the new tile states
+     */
+    public List<TileChange> getTileChanges() {
+        return tile_changes;
+    }
+
+    /**
+     * Gets the number of moves made in the game after the command.
+     * 
+     * @return The number of moves
+     */
+    public long getMoveCount() {
+        return move_count;
+    }
+
+    /**
+     * Checks if all light bulbs are powered after the command.
+     * 
+     * @return true if the board is solved, false otherwise
+     */
+    public boolean isSolved() {
+        return solved;
+    }
+
+    /**
+     * Checks if there is a move to undo after the command.
+     * 
+     * @return true if a move can be undone, false otherwise
+     */
+    public boolean isUndoAvailable() {
+        return undo_available;
+    }
+
+    /**
+     * Checks if there is an undone move to redo after the command.
+     * 
+     * @return true if a move can be redone, false otherwise
+     */
+    public boolean isRedoAvailable() {
+        return redo_available;
+    }
+
+    /**
+     * Applies the changes to a copy of the board.
+     * 
+     * <p>
+     * The copy has to be in the state before the command, which is true when
+     * all change sets are applied in the order they were published.
+     * </p>
+     * 
+     * @param board The copy of the board
+     */
+    public void applyTo(Board board) {
+        for (TileChange tile_change : tile_changes) {
+            Tile tile = board.getTile(tile_change.getRow(), tile_change.getCol());
+            if (tile == null) {
+                continue;
+            }
+
+            tile.turn(Math.floorMod(tile_change.getRotationCount() - tile.getRotationCount(), 4));
+            tile.setPowered(tile_change.isPowered());
+            tile.setPlayerRotationCount(tile_change.getPlayerRotationCount());
+        }
+    }
+
+    /**
+     * Immutable state of a single tile after a command.
+     */
+    public static final class TileChange {
+        /** Row position of the tile. */
+        private final int row;
+
+        /** Column position of the tile. */
+        private final int col;
+
+        /** Rotation count of the tile from 0 to 3. */
+        private final int rotation_count;
+
+        /** Number of times the player has rotated the tile. */
+        private final int player_rotation_count;
+
+        /** Flag if the tile is powered. */
+        private final boolean powered;
+
+        /**
+         * Creates the state of a tile.
+         * 
+         * @param tile The tile to take the state from
+         */
+        public TileChange(Tile tile) {
+            this.row = tile.getRow();
+            this.col = tile.getCol();
+            this.rotation_count = tile.getRotationCount();
+            this.player_rotation_count = tile.getPlayerRotationCount();
+            this.powered = tile.isPowered();
+        }
+
+        /**
+         * Gets the row position of the tile.
+         * 
+         * @return The row position
+         */
+        public int getRow() {
+            return row;
+        }
+
+        /**
+         * Gets the column position of the tile.
+         * 
+         * @return The column position
+         */
+        public int getCol() {
+            return col;
+        }
+
+        /**
+         * Gets the rotation count of the tile.
+         * 
+         * @return The rotation count from 0 to 3
+         */
+        public int getRotationCount() {
+            return rotation_count;
+        }
+
+        /**
+         * Gets the number of times the player has rotated the tile.
+         * 
+         * @return The number of player rotations
+         */
+        public int getPlayerRotationCount() {
+            return player_rotation_count;
+        }
+
+        /**
+         * Checks if the tile is powered.
+         * 
+         * @return true if the tile is powered, false otherwise
+         */
+        public boolean isPowered() {
+            return powered;
+        }
+    }
+}
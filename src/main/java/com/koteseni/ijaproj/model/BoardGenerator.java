@@ -0,0 +1,428 @@
+// Class generating random solvable game boards and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates random solvable game boards.
+ * 
+ * <p>
+ * A random spanning tree from the source covers the whole board, its leaves
+ * become light bulbs and all other cells wires, so the board is solvable with
+ * every tile in use. The rotations are then randomized. Independent of the
+ * GUI, so boards can be generated by tools and benchmarks too.
+ * </p>
+ * 
+ * <p>
+ * The phases of generate() are public, so benchmarks can measure each of them
+ * on its own. Calling them in another order than generate() does leaves the
+ * board unsolvable.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class BoardGenerator {
+
+    /** The generated board. */
+    private final Board board;
+
+    /** Random number generator for board randomization. */
+    private final Random random;
+
+    /**
+     * Creates a new generator filling an empty board.
+     * 
+     * @param board  The empty board to fill, at least 3x3
+     * @param random Random number generator, a seeded one generates the same
+     *               board every time
+     */
+    public BoardGenerator(Board board, Random random) {
+        this.board = board;
+        this.random = random;
+    }
+
+    /**
+     * Gets the number of rows and columns of boards of a difficulty level.
+     * 
+     * @param difficulty The difficulty level
+     * 
+     * @return The number of rows and columns
+     */
+    public static int getBoardSize(int difficulty) {
+        // the same algorithm for board size that the LightBulb game uses, pretty cool
+        return 5 + (difficulty - 1) * 2;
+    }
+
+    /**
+     * Generates the game board.
+     * 
+     * <p>
+     * Uses a spanning tree algorithm to connect all tiles, randomizes the rotations
+     * and propagates power.
+     * </p>
+     */
+    public void generate() {
+        GenerationEvent event = new GenerationEvent();
+        event.begin();
+        long start_nanos = System.nanoTime();
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        // random source position avoiding edge tiles
+        int source_row = 1 + random.nextInt(rows - 2);
+        int source_col = 1 + random.nextInt(cols - 2);
+
+        Map<String, Cell> tree_nodes = generateSpanningTree(source_row, source_col, rows, cols);
+
+        placeLightBulbs(tree_nodes);
+
+        placeWires(tree_nodes);
+
+        scramble();
+
+        board.propagatePower();
+
+        GameMetrics.get().recordGeneration(System.nanoTime() - start_nanos);
+
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.cols = cols;
+            event.light_bulbs = board.getLightBulbs().size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Scrambles the rotations of all tiles of a filled board.
+     * 
+     * <p>
+     * The rotation of every tile after placing it is its correct one, so the
+     * scrambled board stays solvable.
+     * </p>
+     */
+    public void scramble() {
+        rotateAllTiles180Degrees();
+
+        randomizeBoardRotations();
+    }
+
+    /**
+     * Generates a spanning tree for the game board.
+     * 
+     * <p>
+     * Creates a connected graph where every cell is reachable from the source cell.
+     * The source is placed on the board already.
+     * </p>
+     * 
+     * @param source_row Row position of the power source
+     * @param source_col Column position of the power source
+     * @param rows       Number of rows in the board
+     * @param cols       Number of columns in the board
+     * 
+     * @return Map of cell positions to Cell objects representing the spanning tree
+     */
+    public Map<String, Cell> generateSpanningTree(int source_row, int source_col, int rows, int cols) {
+        Map<String, Cell> cell_map = new HashMap<>();
+        List<Cell> cells = new ArrayList<>();
+
+        Cell source_cell = new Cell(source_row, source_col);
+        source_cell.setVisited(true);
+        cell_map.put(Cell.cellKey(source_row, source_col), source_cell);
+
+        addUnvisitedNeighborsToCells(source_cell, cells, cell_map, rows, cols);
+
+        while (!cells.isEmpty()) {
+            int i = random.nextInt(cells.size());
+            Cell current = cells.get(i);
+            cells.remove(i);
+
+            if (current.isVisited()) {
+                continue;
+            }
+
+            current.setVisited(true);
+
+            List<Cell> visited_neighbors = getVisitedNeighbors(current, cell_map, rows, cols);
+            if (!visited_neighbors.isEmpty()) {
+                Cell parent = visited_neighbors.get(random.nextInt(visited_neighbors.size()));
+
+                Direction direction_to_parent = Cell.getDirection(current, parent);
+                Direction directino_from_parent = direction_to_parent.getOpposite();
+
+                current.addConnection(direction_to_parent);
+                parent.addConnection(directino_from_parent);
+            }
+
+            addUnvisitedNeighborsToCells(current, cells, cell_map, rows, cols);
+        }
+
+        EnumSet<Direction> source_connections = EnumSet.noneOf(Direction.class);
+        source_connections.addAll(source_cell.getConnections());
+        WireShape source_shape = WireShape.fromConnections(source_connections);
+        Source source = new Source(source_row, source_col, source_shape);
+        source.setConnections(source_connections);
+        board.setTile(source_row, source_col, source);
+
+        return cell_map;
+    }
+
+    /**
+     * Adds unvisited neighboring cells to the list of cells to visit.
+     * 
+     * @param cell     The current cell
+     * @param cells    List of cells to add the neighbors to
+     * @param cell_map Map of cell positions to Cell objects
+     * @param rows     Number of rows in the board
+     * @param cols     Number of columns in the board
+     */
+    private void addUnvisitedNeighborsToCells(Cell cell, List<Cell> cells, Map<String, Cell> cell_map, int rows,
+            int cols) {
+
+        addNeighbor(cell.getRow() - 1, cell.getCol(), cells, cell_map, rows, cols); // North
+        addNeighbor(cell.getRow(), cell.getCol() + 1, cells, cell_map, rows, cols); // East
+        addNeighbor(cell.getRow() + 1, cell.getCol(), cells, cell_map, rows, cols); // South
+        addNeighbor(cell.getRow(), cell.getCol() - 1, cells, cell_map, rows, cols); // West
+    }
+
+    /**
+     * Adds a neighbor cell to the list of cells if it's in bounds.
+     * 
+     * @param row      Row position of the neighbor
+     * @param col      Column position of the neighbor
+     * @param cells    List of cells to add the neighbor to
+     * @param cell_map Map of cell positions to Cell objects
+     * @param rows     Total number of rows in the board
+     * @param cols     Total number of columns in the board
+     */
+    private void addNeighbor(int row, int col, List<Cell> cells, Map<String, Cell> cell_map, int rows,
+            int cols) {
+
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return;
+        }
+
+        String key = Cell.cellKey(row, col);
+        if (cell_map.containsKey(key)) {
+            return;
+        }
+
+        Cell neighbor = new Cell(row, col);
+        cell_map.put(key, neighbor);
+        cells.add(neighbor);
+    }
+
+    /**
+     * Gets all visited neighbors of a cell.
+     * 
+     * @param cell     The current cell
+     * @param cell_map Map of cell positions to Cell objects
+     * @param rows     Number of rows in the board
+     * @param cols     Number of columns in the board
+     * 
+     * @return List of visited neighboring cells
+     */
+    private List<Cell> getVisitedNeighbors(Cell cell, Map<String, Cell> cell_map, int rows, int cols) {
+        List<Cell> neighbors = new ArrayList<>();
+
+        addVisitedNeighbor(cell.getRow() - 1, cell.getCol(), neighbors, cell_map, rows, cols);
+        addVisitedNeighbor(cell.getRow(), cell.getCol() + 1, neighbors, cell_map, rows, cols);
+        addVisitedNeighbor(cell.getRow() + 1, cell.getCol(), neighbors, cell_map, rows, cols);
+        addVisitedNeighbor(cell.getRow(), cell.getCol() - 1, neighbors, cell_map, rows, cols);
+
+        return neighbors;
+    }
+
+    /**
+     * Adds a visited neighbor cell to the list of neighbors if in bounds.
+     * 
+     * @param row       Row position of the neighbor
+     * @param col       Column position of the neighbor
+     * @param neighbors List of visited neighbors
+     * @param cell_map  Map of cell positions to Cell objects
+     * @param rows      Total number of rows in the board
+     * @param cols      Total number of columns in the board
+     */
+    private void addVisitedNeighbor(int row, int col, List<Cell> neighbors, Map<String, Cell> cell_map, int rows,
+            int cols) {
+
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            return;
+        }
+
+        String key = Cell.cellKey(row, col);
+        Cell neighbor = cell_map.get(key);
+
+        if (neighbor != null && neighbor.isVisited()) {
+            neighbors.add(neighbor);
+        }
+    }
+
+    /**
+     * Gets all leaf cells in the spanning tree.
+     * 
+     * <p>
+     * Leaf cells have one connection which is perfect for light bulbs.
+     * </p>
+     * 
+     * @param cell_map Map of cell positions to Cell objects
+     * 
+     * @return List of leaf cells
+     */
+    private List<Cell> getLeafCells(Map<String, Cell> cell_map) {
+        List<Cell> leaf_cells = new ArrayList<>();
+
+        for (Cell cell : cell_map.values()) {
+            if (cell.getConnections().size() == 1) {
+                leaf_cells.add(cell);
+            }
+        }
+
+        return leaf_cells;
+    }
+
+    /**
+     * Places light bulbs on the leaf cells.
+     * 
+     * <p>
+     * Light bulbs are placed on cells that have one connection orienting them to
+     * face that connection. The source cell is skipped even when it is a leaf.
+     * </p>
+     * 
+     * @param cell_map Map of cell positions to Cell objects
+     */
+    public void placeLightBulbs(Map<String, Cell> cell_map) {
+        List<Cell> leaf_cells = getLeafCells(cell_map);
+
+        for (int i = 0; i < leaf_cells.size(); i++) {
+            Cell cell = leaf_cells.get(i);
+            leaf_cells.remove(i);
+
+            // a source with a single connection is a leaf too and must stay on the board
+            if (board.getTile(cell.getRow(), cell.getCol()) != null) {
+                continue;
+            }
+
+            Direction direction = cell.getConnections().iterator().next();
+            LightBulb bulb = new LightBulb(cell.getRow(), cell.getCol(), direction);
+            board.setTile(cell.getRow(), cell.getCol(), bulb);
+        }
+    }
+
+    /**
+     * Places wires on cells which are not light bulbs or the source.
+     * 
+     * @param cell_map Map of cell positions to Cell objects
+     */
+    public void placeWires(Map<String, Cell> cell_map) {
+        for (Cell cell : cell_map.values()) {
+            int row = cell.getRow();
+            int col = cell.getCol();
+            if (board.getTile(row, col) != null) {
+                continue;
+            }
+
+            EnumSet<Direction> connections = EnumSet.noneOf(Direction.class);
+            connections.addAll(cell.getConnections());
+
+            // this converts single connections to a light bulb to avoid trouble with wires
+            if (connections.size() == 1) {
+                Direction direction = connections.iterator().next();
+                LightBulb bulb = new LightBulb(row, col, direction);
+                board.setTile(row, col, bulb);
+
+                continue;
+            }
+
+            Wire wire = new Wire(row, col, WireShape.fromConnections(connections));
+            wire.setConnections(connections);
+            board.setTile(row, col, wire);
+        }
+    }
+
+    /**
+     * Randomizes the rotations of tiles on the board.
+     * 
+     * <ol>
+     * <li>Sets the current rotation of each tile as its correct rotation</li>
+     * <li>Randomly rotates each tile</li>
+     * <li>Fail-safe rotating tiles so that not all light bulbs are powered</li>
+     * </ol>
+     */
+    private void randomizeBoardRotations() {
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                Tile tile = board.getTile(row, col);
+                if (tile == null) {
+                    continue;
+                }
+
+                tile.setCorrectRotation(tile.getRotationCount());
+
+                randomizeTileRotation(tile);
+            }
+        }
+
+        board.propagatePower();
+
+        // rotate randomly until not every light bulb is powered
+        while (board.areAllLightBulbsPowered()) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            Tile tile = board.getTile(row, col);
+
+            if (tile instanceof Wire) {
+                tile.turn();
+                board.propagatePower();
+            }
+        }
+    }
+
+    /**
+     * Randomly rotates a single tile.
+     * 
+     * @param tile The tile to rotate
+     */
+    private void randomizeTileRotation(Tile tile) {
+        if (tile == null) {
+            return;
+        }
+
+        int rotations = random.nextInt(4);
+        for (int i = 0; i < rotations; i++) {
+            tile.turn();
+        }
+    }
+
+    /**
+     * Rotates all tiles on the board by 180 degrees.
+     * 
+     * <p>
+     * This is a workaround for an issue where tiles are initially
+     * rotated -180 degrees from their expected orientation.
+     * </p>
+     */
+    private void rotateAllTiles180Degrees() {
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                Tile tile = board.getTile(row, col);
+                if (tile != null) {
+                    tile.turn(2);
+                }
+            }
+        }
+    }
+
+}
@@ -3,6 +3,8 @@
 
 package com.koteseni.ijaproj.model;
 
+import java.util.EnumSet;
+
 /**
  * Enum representing the cardinal directions on the game board.
  * 
@@ -60,4 +62,59 @@ public enum Direction {
     public Direction getOpposite() {
         return values()[(this.ordinal() + 2) % values().length];
     }
+
+    /**
+     * Gets the bit of this direction in a connection mask.
+     * 
+     * @return The bit of the direction
+     */
+    public int getMask() {
+        return 1 << value;
+    }
+
+    /**
+     * Converts a set of directions to a connection mask.
+     * 
+     * @param directions The set of directions
+     * 
+     * @return The connection mask with a bit set for every direction
+     */
+    public static int toMask(EnumSet<Direction> directions) {
+        int mask = 0;
+        for (Direction direction : directions) {
+            mask |= direction.getMask();
+        }
+
+        return mask;
+    }
+
+    /**
+     * Converts a connection mask to a set of directions.
+     * 
+     * @param mask The connection mask
+     * 
+     * @return A new set with every direction whose bit is set
+     */
+    public static EnumSet<Direction> fromMask(int mask) {
+        EnumSet<Direction> directions = EnumSet.noneOf(Direction.class);
+        for (Direction direction : values()) {
+            if ((mask & direction.getMask()) != 0) {
+                directions.add(direction);
+            }
+        }
+
+        return directions;
+    }
+
+    /**
+     * Rotates a connection mask clockwise.
+     * 
+     * @param mask  The connection mask
+     * @param count Number of quarter turns, 0 to 3
+     * 
+     * @return The rotated connection mask
+     */
+    public static int rotateMask(int mask, int count) {
+        return ((mask << count) | (mask >>> (4 - count))) & 0xF;
+    }
 }
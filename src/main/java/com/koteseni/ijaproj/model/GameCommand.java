@@ -0,0 +1,16 @@
+// Interface of the commands processed by the model thread of a game session.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+/**
+ * Command processed by the model thread of a game session.
+ * 
+ * <p>
+ * Commands are executed one at a time in the order they were submitted.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public sealed interface GameCommand permits RotateTile, UndoMove, RedoMove, SaveGame {
+}
@@ -72,6 +72,21 @@ public class GameLogger {
         moves.add(new Move(row, col, System.currentTimeMillis()));
     }
 
+    /**
+     * Logs an undo of an earlier move made by the player.
+     * 
+     * <p>
+     * The undo is kept in the move list as a rotation back, so a replay shows the
+     * game exactly as it was played.
+     * </p>
+     * 
+     * @param row Row position of the tile that was rotated back
+     * @param col Column position of the tile that was rotated back
+     */
+    public void logUndo(int row, int col) {
+        moves.add(new Move(row, col, System.currentTimeMillis(), true));
+    }
+
     /**
      * Saves the current game state to a JSON file.
      * 
@@ -92,10 +107,34 @@ public class GameLogger {
      *                     writing to the file
      */
     public String saveGame() throws IOException {
-        checkSavesDirectory();
+        return saveGame(getSavesDirectory());
+    }
+
+    /**
+     * Saves the current game state to a JSON file in a directory.
+     * 
+     * <p>
+     * Used by tools that must not touch the saves of the player. The file has the
+     * same name and content as with saveGame().
+     * </p>
+     *
+     * @param directory The directory for the save file, created if missing
+     * 
+     * @return The path to the save file
+     * 
+     * @throws IOException if there's an error creating the directory or writing
+     *                     to the file
+     */
+    public String saveGame(Path directory) throws IOException {
+        SaveEvent event = new SaveEvent();
+        event.begin();
+        long start_nanos = System.nanoTime();
+        if (!Files.exists(directory)) {
+            Files.createDirectories(directory);
+        }
 
         String filename = start_time.format(DATE_FORMAT) + ".json";
-        Path save_file_path = Paths.get(SAVES_DIRECTORY, filename);
+        Path save_file_path = directory.resolve(filename);
 
         JsonObject game_data = new JsonObject();
 
@@ -114,6 +153,10 @@ public class GameLogger {
             move_json_object.addProperty("row", move.getRow());
             move_json_object.addProperty("col", move.getCol());
             move_json_object.addProperty("timestamp", move.getTimestamp());
+            // only written for undo moves, so saves without undo keep their old format
+            if (move.isUndo()) {
+                move_json_object.addProperty("undo", true);
+            }
 
             moves_array.add(move_json_object);
         }
@@ -124,6 +167,16 @@ public class GameLogger {
             writer.write(gson.toJson(game_data));
         }
 
+        long bytes_written = Files.size(save_file_path);
+        GameMetrics.get().recordSave(System.nanoTime() - start_nanos, bytes_written);
+
+        if (event.shouldCommit()) {
+            event.path = save_file_path.toString();
+            event.moves = moves.size();
+            event.bytes_written = bytes_written;
+            event.commit();
+        }
+
         return save_file_path.toString();
     }
 
@@ -148,6 +201,9 @@ public class GameLogger {
      * @throws IOException if there's an error reading or parsing the file
      */
     public static GameState loadGame(String file_path) throws IOException {
+        LoadEvent event = new LoadEvent();
+        event.begin();
+        long start_nanos = System.nanoTime();
         JsonObject game_data;
 
         try (FileReader reader = new FileReader(file_path)) {
@@ -172,13 +228,33 @@ public class GameLogger {
             int row = move_json_object.get("row").getAsInt();
             int col = move_json_object.get("col").getAsInt();
             long timestamp = move_json_object.get("timestamp").getAsLong();
+            boolean undo = move_json_object.has("undo") && move_json_object.get("undo").getAsBoolean();
 
-            moves.add(new Move(row, col, timestamp));
+            moves.add(new Move(row, col, timestamp, undo));
+        }
+
+        long bytes_read = Files.size(Paths.get(file_path));
+        GameMetrics.get().recordLoad(System.nanoTime() - start_nanos, bytes_read);
+
+        if (event.shouldCommit()) {
+            event.path = file_path;
+            event.moves = moves.size();
+            event.bytes_read = bytes_read;
+            event.commit();
         }
 
         return new GameState(rows, cols, difficulty, start_time, initial_board_json_array, moves);
     }
 
+    /**
+     * Gets the directory where the game saves the games of the player.
+     * 
+     * @return Path to the data/saves directory
+     */
+    public static Path getSavesDirectory() {
+        return Paths.get(SAVES_DIRECTORY);
+    }
+
     /**
      * Gets a list of all save files.
      * 
@@ -0,0 +1,376 @@
+// Class collecting the runtime metrics of the game and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects the runtime metrics of the game.
+ * 
+ * <p>
+ * A single instance shared by the whole application counts the moves, the
+ * running sessions and the bytes saved and loaded, and records the durations of
+ * the hot paths into histograms. Every game session records from its own
+ * model thread, so each histogram is split into stripes picked by the id of
+ * the recording thread, each behind its own lock. Sessions running at once
+ * record into different stripes and rarely wait for each other, so recording
+ * stays enabled all the time. Reading merges the stripes. The values are read
+ * over JMX through the GameMetricsMXBean.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class GameMetrics implements GameMetricsMXBean {
+
+    /** Name the metrics are registered under in the platform MBean server. */
+    public static final String OBJECT_NAME = "com.koteseni.ijaproj:type=GameMetrics";
+
+    /** Nanoseconds in a microsecond, the unit of all reported durations. */
+    private static final long NANOS_PER_MICRO = 1000;
+
+    /** Number of stripes of every histogram, a power of two of at least twice the processors. */
+    private static final int STRIPE_COUNT = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1);
+
+    /** The metrics of the application. */
+    private static final GameMetrics instance = new GameMetrics();
+
+    /** Number of moves applied by game sessions. */
+    private final LongAdder moves_applied = new LongAdder();
+
+    /** Number of running game sessions. */
+    private final AtomicInteger active_sessions = new AtomicInteger();
+
+    /** Durations of power propagations in nanoseconds. */
+    private final SharedHistogram propagation_nanos = new SharedHistogram();
+
+    /** Number of tiles visited by every power propagation. */
+    private final SharedHistogram tiles_visited = new SharedHistogram();
+
+    /** Durations of board generations in nanoseconds. */
+    private final SharedHistogram generation_nanos = new SharedHistogram();
+
+    /** Durations of saving games in nanoseconds. */
+    private final SharedHistogram save_nanos = new SharedHistogram();
+
+    /** Number of bytes written by saving games. */
+    private final LongAdder saved_bytes = new LongAdder();
+
+    /** Durations of loading saved games in nanoseconds. */
+    private final SharedHistogram load_nanos = new SharedHistogram();
+
+    /** Number of bytes read by loading saved games. */
+    private final LongAdder loaded_bytes = new LongAdder();
+
+    /** Durations of updates of the board view in nanoseconds. */
+    private final SharedHistogram render_nanos = new SharedHistogram();
+
+    /**
+     * Prevents creating other instances than the shared one.
+     */
+    private GameMetrics() {
+    }
+
+    /**
+     * Gets the metrics of the application.
+     * 
+     * @return The shared metrics
+     */
+    public static GameMetrics get() {
+        return instance;
+    }
+
+    /**
+     * Registers the metrics in the platform MBean server.
+     * 
+     * <p>
+     * Only the game itself registers them, headless tools record the metrics
+     * without exposing them. A failed registration only leaves the metrics
+     * unreachable over JMX.
+     * </p>
+     */
+    public static void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(instance, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Error registering game metrics: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Records a move applied by a game session.
+     */
+    public void recordMove() {
+        moves_applied.increment();
+    }
+
+    /**
+     * Records the start of a game session.
+     */
+    public void sessionStarted() {
+        active_sessions.incrementAndGet();
+    }
+
+    /**
+     * Records the end of a game session.
+     */
+    public void sessionStopped() {
+        active_sessions.decrementAndGet();
+    }
+
+    /**
+     * Records a power propagation.
+     * 
+     * @param nanos         Duration of the propagation in nanoseconds
+     * @param visited_tiles Number of tiles the propagation visited
+     */
+    public void recordPropagation(long nanos, int visited_tiles) {
+        propagation_nanos.record(nanos);
+        tiles_visited.record(visited_tiles);
+    }
+
+    /**
+     * Records a board generation.
+     * 
+     * @param nanos Duration of the generation in nanoseconds
+     */
+    public void recordGeneration(long nanos) {
+        generation_nanos.record(nanos);
+    }
+
+    /**
+     * Records saving a game.
+     * 
+     * @param nanos Duration of the save in nanoseconds
+     * @param bytes Size of the save file in bytes
+     */
+    public void recordSave(long nanos, long bytes) {
+        save_nanos.record(nanos);
+        saved_bytes.add(bytes);
+    }
+
+    /**
+     * Records loading a saved game.
+     * 
+     * @param nanos Duration of the load in nanoseconds
+     * @param bytes Size of the save file in bytes
+     */
+    public void recordLoad(long nanos, long bytes) {
+        load_nanos.record(nanos);
+        loaded_bytes.add(bytes);
+    }
+
+    /**
+     * Records an update of the board view.
+     * 
+     * @param nanos Duration of the update in nanoseconds
+     */
+    public void recordRender(long nanos) {
+        render_nanos.record(nanos);
+    }
+
+    /**
+     * Gets the number of moves applied by game sessions.
+     * 
+     * @return The number of moves
+     */
+    @Override
+    public long getMovesApplied() {
+        return moves_applied.sum();
+    }
+
+    /**
+     * Gets the number of running game sessions.
+     * 
+     * @return The number of sessions
+     */
+    @Override
+    public int getActiveSessions() {
+        return active_sessions.get();
+    }
+
+    /**
+     * Gets the durations of power propagations.
+     * 
+     * @return The durations in microseconds
+     */
+    @Override
+    public HistogramSnapshot getPropagationMicros() {
+        return propagation_nanos.snapshot(NANOS_PER_MICRO);
+    }
+
+    /**
+     * Gets the number of tiles visited by power propagations.
+     * 
+     * @return The tiles visited per propagation
+     */
+    @Override
+    public HistogramSnapshot getTilesVisitedPerPropagation() {
+        return tiles_visited.snapshot(1);
+    }
+
+    /**
+     * Gets the durations of board generations.
+     * 
+     * @return The durations in microseconds
+     */
+    @Override
+    public HistogramSnapshot getGenerationMicros() {
+        return generation_nanos.snapshot(NANOS_PER_MICRO);
+    }
+
+    /**
+     * Gets the durations of saving games.
+     * 
+     * @return The durations in microseconds
+     */
+    @Override
+    public HistogramSnapshot getSaveMicros() {
+        return save_nanos.snapshot(NANOS_PER_MICRO);
+    }
+
+    /**
+     * Gets the number of bytes written by saving games.
+     * 
+     * @return The number of bytes
+     */
+    @Override
+    public long getSavedBytes() {
+        return saved_bytes.sum();
+    }
+
+    /**
+     * Gets the durations of loading saved games.
+     * 
+     * @return The durations in microseconds
+     */
+    @Override
+    public HistogramSnapshot getLoadMicros() {
+        return load_nanos.snapshot(NANOS_PER_MICRO);
+    }
+
+    /**
+     * Gets the number of bytes read by loading saved games.
+     * 
+     * @return The number of bytes
+     */
+    @Override
+    public long getLoadedBytes() {
+        return loaded_bytes.sum();
+    }
+
+    /**
+     * Gets the durations of updates of the board view.
+     * 
+     * @return The durations in microseconds
+     */
+    @Override
+    public HistogramSnapshot getRenderMicros() {
+        return render_nanos.snapshot(NANOS_PER_MICRO);
+    }
+
+    /**
+     * Removes all recorded values, the number of running sessions stays.
+     */
+    @Override
+    public void reset() {
+        moves_applied.reset();
+        propagation_nanos.reset();
+        tiles_visited.reset();
+        generation_nanos.reset();
+        save_nanos.reset();
+        saved_bytes.reset();
+        load_nanos.reset();
+        loaded_bytes.reset();
+        render_nanos.reset();
+    }
+
+    /**
+     * Histogram recorded and read by several threads.
+     * 
+     * <p>
+     * The values are recorded into stripes picked by the id of the recording
+     * thread. A stripe is created on its first use, so a histogram only
+     * recorded by one thread keeps a single stripe.
+     * </p>
+     */
+    private static final class SharedHistogram {
+        /** The stripes of the recorded values, each guarded by itself. */
+        private final AtomicReferenceArray<LatencyHistogram> stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+
+        /**
+         * Records a value into the stripe of the current thread.
+         * 
+         * @param value The value to record
+         */
+        void record(long value) {
+            LatencyHistogram stripe = getStripe((int) Thread.currentThread().threadId() & (STRIPE_COUNT - 1));
+            synchronized (stripe) {
+                stripe.record(value);
+            }
+        }
+
+        /**
+         * Creates a snapshot of the values recorded into all stripes.
+         * 
+         * @param unit Divisor of the recorded values
+         * 
+         * @return The snapshot
+         */
+        HistogramSnapshot snapshot(long unit) {
+            LatencyHistogram merged = new LatencyHistogram();
+            for (int i = 0; i < STRIPE_COUNT; i++) {
+                LatencyHistogram stripe = stripes.get(i);
+                if (stripe == null) {
+                    continue;
+                }
+
+                synchronized (stripe) {
+                    merged.add(stripe);
+                }
+            }
+
+            return HistogramSnapshot.of(merged, unit);
+        }
+
+        /**
+         * Removes all recorded values.
+         */
+        void reset() {
+            for (int i = 0; i < STRIPE_COUNT; i++) {
+                LatencyHistogram stripe = stripes.get(i);
+                if (stripe == null) {
+                    continue;
+                }
+
+                synchronized (stripe) {
+                    stripe.reset();
+                }
+            }
+        }
+
+        /**
+         * Gets a stripe, creating it on its first use.
+         * 
+         * @param index Index of the stripe
+         * 
+         * @return The stripe
+         */
+        private LatencyHistogram getStripe(int index) {
+            LatencyHistogram stripe = stripes.get(index);
+            if (stripe != null) {
+                return stripe;
+            }
+
+            // another thread may create the same stripe first, its histogram wins
+            stripes.compareAndSet(index, null, new LatencyHistogram());
+            return stripes.get(index);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+// Management interface of the runtime metrics of the game and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+/**
+ * Management interface of the runtime metrics of the game.
+ * 
+ * <p>
+ * Registered in the platform MBean server as {@value GameMetrics#OBJECT_NAME},
+ * so JConsole or any other JMX client attached to the game can watch it.
+ * Every value counts since the start of the game or the last reset.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public interface GameMetricsMXBean {
+
+    /**
+     * Gets the number of moves applied by game sessions, undos and redos
+     * included.
+     * 
+     * @return The number of moves
+     */
+    long getMovesApplied();
+
+    /**
+     * Gets the number of game sessions currently running.
+     * 
+     * @return The number of sessions
+     */
+    int getActiveSessions();
+
+    /**
+     * Gets the durations of power propagations, full and incremental.
+     * 
+     * @return The durations in microseconds
+     */
+    HistogramSnapshot getPropagationMicros();
+
+    /**
+     * Gets the number of tiles visited by power propagations.
+     * 
+     * @return The tiles visited per propagation
+     */
+    HistogramSnapshot getTilesVisitedPerPropagation();
+
+    /**
+     * Gets the durations of board generations.
+     * 
+     * @return The durations in microseconds
+     */
+    HistogramSnapshot getGenerationMicros();
+
+    /**
+     * Gets the durations of saving games.
+     * 
+     * @return The durations in microseconds
+     */
+    HistogramSnapshot getSaveMicros();
+
+    /**
+     * Gets the number of bytes written by saving games.
+     * 
+     * @return The number of bytes
+     */
+    long getSavedBytes();
+
+    /**
+     * Gets the durations of loading saved games.
+     * 
+     * @return The durations in microseconds
+     */
+    HistogramSnapshot getLoadMicros();
+
+    /**
+     * Gets the number of bytes read by loading saved games.
+     * 
+     * @return The number of bytes
+     */
+    long getLoadedBytes();
+
+    /**
+     * Gets the durations of updates of the board view.
+     * 
+     * @return The durations in microseconds
+     */
+    HistogramSnapshot getRenderMicros();
+
+    /**
+     * Removes all recorded values, the number of running sessions stays.
+     */
+    void reset();
+}
@@ -0,0 +1,454 @@
+// Class running the model of a game on its own thread and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Runs the model of a game on its own thread.
+ * 
+ * <p>
+ * The session owns a board and a game logger which only its model thread
+ * touches. Other threads submit commands into a lock-free queue, the model
+ * thread executes them one by one in the submitted order and publishes an
+ * immutable change set after every move. The UI applies the change sets to its
+ * own copy of the board, so it never waits for rotation or power propagation.
+ * </p>
+ * 
+ * <p>
+ * Moves can be undone and redone. Both only rotate one tile and move it
+ * between two stacks, so they cost the same as a click no matter how long the
+ * game is. Undos are logged as moves too, so a replay shows them. A change set
+ * holds only the rotated tile and the tiles whose power changed, which are
+ * found from the rotated tile, so publishing it costs as much as the change
+ * and not as much as the board.
+ * </p>
+ * 
+ * <p>
+ * Once the board is solved, further moves are ignored, so a save contains no
+ * moves made after the winning one.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class GameSession implements AutoCloseable {
+
+    /** The board owned by the model thread. */
+    private final Board board;
+
+    /** The logger of the moves owned by the model thread. */
+    private final GameLogger game_logger;
+
+    /** Receiver of the change sets, called on the model thread. */
+    private final Consumer<BoardChange> change_listener;
+
+    /** Commands waiting for the model thread. */
+    private final Queue<GameCommand> commands = new ConcurrentLinkedQueue<>();
+
+    /** The model thread. */
+    private final Thread model_thread;
+
+    /** Power state of every tile in the last published change set, indexed by row * cols + col. */
+    private final boolean[] published_powered;
+
+    /** Number of powered light bulbs in the last published change set. */
+    private int published_powered_light_bulbs;
+
+    /** Tiles whose power change was published, waiting to have their neighbors checked. */
+    private final ArrayDeque<Tile> changed_tiles = new ArrayDeque<>();
+
+    /** Tiles of the moves that can be undone, the last move on top. */
+    private final MoveStack undo_moves = new MoveStack();
+
+    /** Tiles of the undone moves that can be redone, the last undone move on top. */
+    private final MoveStack redo_moves = new MoveStack();
+
+    /** Number of moves made in the game, undone moves not counted. */
+    private long move_count;
+
+    /** Flag if all light bulbs are powered. */
+    private boolean solved;
+
+    /** Flag if the model thread should keep running. */
+    private volatile boolean running = true;
+
+    /** Lock making the check of the running flag and the submission of a save atomic with closing. */
+    private final Object close_lock = new Object();
+
+    /**
+     * Creates a new session and starts its model thread.
+     * 
+     * <p>
+     * The session takes over the board, which must not be used by other threads
+     * afterwards. The UI should keep a deep copy instead.
+     * </p>
+     * 
+     * @param board           The board of the game
+     * @param game_logger     The logger of the game
+     * @param change_listener Receiver of the change sets, called on the model
+     *                        thread
+     */
+    public GameSession(Board board, GameLogger game_logger, Consumer<BoardChange> change_listener) {
+        this.board = board;
+        this.game_logger = game_logger;
+        this.change_listener = change_listener;
+        this.solved = board.areAllLightBulbsPowered();
+
+        published_powered = new boolean[board.getRows() * board.getCols()];
+        forEachTile(this::publishPower);
+
+        model_thread = new Thread(this::run, "game-model");
+        model_thread.setDaemon(true);
+        GameMetrics.get().sessionStarted();
+        model_thread.start();
+    }
+
+    /**
+     * Submits a command to the model thread.
+     * 
+     * @param command The command to execute
+     */
+    public void submit(GameCommand command) {
+        commands.add(command);
+        LockSupport.unpark(model_thread);
+    }
+
+    /**
+     * Saves the game after all previously submitted commands.
+     * 
+     * @return Path to the save file, completed exceptionally with an
+     *         IOException if saving failed
+     */
+    public CompletableFuture<String> saveGame() {
+        return saveGame(GameLogger.getSavesDirectory());
+    }
+
+    /**
+     * Saves the game into a directory after all previously submitted commands.
+     * 
+     * @param directory Directory for the save file
+     * 
+     * @return Path to the save file, completed exceptionally with an
+     *         IOException if saving failed
+     */
+    public CompletableFuture<String> saveGame(Path directory) {
+        SaveGame command = new SaveGame(directory);
+
+        // a save queued after the model thread stopped would never complete
+        synchronized (close_lock) {
+            if (!running) {
+                return CompletableFuture.failedFuture(new IOException("Game session closed"));
+            }
+
+            submit(command);
+        }
+
+        return command.getResult();
+    }
+
+    /**
+     * Stops the model thread.
+     * 
+     * <p>
+     * Commands that were not executed yet are dropped, saves among them are
+     * completed exceptionally. Saves requested after closing fail right away.
+     * </p>
+     */
+    @Override
+    public void close() {
+        synchronized (close_lock) {
+            running = false;
+        }
+
+        LockSupport.unpark(model_thread);
+    }
+
+    /**
+     * Executes commands until the session is closed.
+     */
+    private void run() {
+        while (running) {
+            GameCommand command = commands.poll();
+            if (command == null) {
+                LockSupport.park(this);
+                continue;
+            }
+
+            try {
+                execute(command);
+            } catch (RuntimeException e) {
+                System.err.println("Error executing game command: " + e.getMessage());
+            }
+        }
+
+        // nobody waits for a save that will never run
+        for (GameCommand command : commands) {
+            if (command instanceof SaveGame save) {
+                save.getResult().completeExceptionally(new IOException("Game session closed"));
+            }
+        }
+
+        GameMetrics.get().sessionStopped();
+    }
+
+    /**
+     * Executes a single command.
+     * 
+     * @param command The command to execute
+     */
+    private void execute(GameCommand command) {
+        switch (command) {
+            case RotateTile rotate -> rotateTile(rotate.getRow(), rotate.getCol());
+            case UndoMove undo -> undoMove();
+            case RedoMove redo -> redoMove();
+            case SaveGame save -> {
+                try {
+                    save.getResult().complete(game_logger.saveGame(save.getDirectory()));
+                } catch (IOException e) {
+                    save.getResult().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rotates a tile as a player move and publishes the changes.
+     * 
+     * @param row Row position of the tile
+     * @param col Column position of the tile
+     */
+    private void rotateTile(int row, int col) {
+        Tile tile = board.getTile(row, col);
+        if (tile == null || solved) {
+            return;
+        }
+
+        board.turnTile(row, col);
+        tile.setPlayerRotationCount(tile.getPlayerRotationCount() + 1);
+        game_logger.logMove(row, col);
+        move_count++;
+        GameMetrics.get().recordMove();
+
+        undo_moves.push(getIndex(tile));
+        redo_moves.clear();
+
+        publishChange(tile);
+    }
+
+    /**
+     * Rotates the tile of the last move back and publishes the changes.
+     */
+    private void undoMove() {
+        if (undo_moves.isEmpty() || solved) {
+            return;
+        }
+
+        int index = undo_moves.pop();
+        int row = index / board.getCols();
+        int col = index % board.getCols();
+        Tile tile = board.getTile(row, col);
+
+        board.turnTileBack(row, col);
+        tile.setPlayerRotationCount(tile.getPlayerRotationCount() - 1);
+        game_logger.logUndo(row, col);
+        move_count--;
+        GameMetrics.get().recordMove();
+
+        redo_moves.push(index);
+
+        publishChange(tile);
+    }
+
+    /**
+     * Rotates the tile of the last undone move again and publishes the changes.
+     */
+    private void redoMove() {
+        if (redo_moves.isEmpty() || solved) {
+            return;
+        }
+
+        int index = redo_moves.pop();
+        int row = index / board.getCols();
+        int col = index % board.getCols();
+        Tile tile = board.getTile(row, col);
+
+        board.turnTile(row, col);
+        tile.setPlayerRotationCount(tile.getPlayerRotationCount() + 1);
+        game_logger.logMove(row, col);
+        move_count++;
+        GameMetrics.get().recordMove();
+
+        undo_moves.push(index);
+
+        publishChange(tile);
+    }
+
+    /**
+     * Publishes the changes of the board after a tile was rotated.
+     * 
+     * <p>
+     * Only the connections of the rotated tile changed, so every path of power
+     * that appeared or disappeared leads through it. Every other tile whose
+     * power changed is therefore connected to the rotated tile through tiles
+     * whose power changed too, and a flood fill from the rotated tile over
+     * changed tiles finds all of them without scanning the board.
+     * </p>
+     * 
+     * @param tile The rotated tile
+     */
+    private void publishChange(Tile tile) {
+        // the rotated tile always changed, other tiles only if their power changed
+        List<BoardChange.TileChange> tile_changes = new ArrayList<>();
+        tile_changes.add(new BoardChange.TileChange(tile));
+        if (published_powered[getIndex(tile)] != tile.isPowered()) {
+            publishPower(tile);
+        }
+
+        changed_tiles.add(tile);
+        while (!changed_tiles.isEmpty()) {
+            Tile current = changed_tiles.poll();
+            int row = current.getRow();
+            int col = current.getCol();
+
+            publishIfPowerChanged(board.getTile(row - 1, col), tile_changes);
+            publishIfPowerChanged(board.getTile(row, col + 1), tile_changes);
+            publishIfPowerChanged(board.getTile(row + 1, col), tile_changes);
+            publishIfPowerChanged(board.getTile(row, col - 1), tile_changes);
+        }
+
+        List<LightBulb> light_bulbs = board.getLightBulbs();
+        solved = !light_bulbs.isEmpty() && published_powered_light_bulbs == light_bulbs.size();
+
+        change_listener.accept(
+                new BoardChange(tile_changes, move_count, solved, !undo_moves.isEmpty(), !redo_moves.isEmpty()));
+    }
+
+    /**
+     * Adds a neighbor of a changed tile to the change set if its power changed
+     * since the last published change set.
+     * 
+     * @param tile         The neighbor, null outside of the board or for an
+     *                     empty cell
+     * @param tile_changes The tile changes of the change set
+     */
+    private void publishIfPowerChanged(Tile tile, List<BoardChange.TileChange> tile_changes) {
+        if (tile == null || published_powered[getIndex(tile)] == tile.isPowered()) {
+            return;
+        }
+
+        publishPower(tile);
+        tile_changes.add(new BoardChange.TileChange(tile));
+        changed_tiles.add(tile);
+    }
+
+    /**
+     * Stores the current power state of a tile as published.
+     * 
+     * <p>
+     * Keeps the number of powered light bulbs, so the win check does not have
+     * to look at every light bulb.
+     * </p>
+     * 
+     * @param tile The tile
+     */
+    private void publishPower(Tile tile) {
+        int index = getIndex(tile);
+        if (tile instanceof LightBulb && published_powered[index] != tile.isPowered()) {
+            published_powered_light_bulbs += tile.isPowered() ? 1 : -1;
+        }
+
+        published_powered[index] = tile.isPowered();
+    }
+
+    /**
+     * Calls an action for every tile of the board.
+     * 
+     * @param action The action to call
+     */
+    private void forEachTile(Consumer<Tile> action) {
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                Tile tile = board.getTile(row, col);
+                if (tile != null) {
+                    action.accept(tile);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the index of a tile in the power state array.
+     * 
+     * @param tile The tile
+     * 
+     * @return The index, row * cols + col
+     */
+    private int getIndex(Tile tile) {
+        return tile.getRow() * board.getCols() + tile.getCol();
+    }
+
+    /**
+     * Stack of tile indices growing as needed.
+     * 
+     * <p>
+     * Pushing, popping and clearing cost O(1) and allocate nothing once the
+     * stack has grown to the length of the game.
+     * </p>
+     */
+    private static final class MoveStack {
+        /** Tile indices of the moves, the top at size - 1. */
+        private int[] indices = new int[16];
+
+        /** Number of moves on the stack. */
+        private int size;
+
+        /**
+         * Pushes a move on top of the stack.
+         * 
+         * @param index Index of the tile of the move, row * cols + col
+         */
+        void push(int index) {
+            if (size == indices.length) {
+                indices = Arrays.copyOf(indices, size * 2);
+            }
+
+            indices[size++] = index;
+        }
+
+        /**
+         * Removes the move on top of the stack.
+         * 
+         * @return Index of the tile of the move
+         */
+        int pop() {
+            return indices[--size];
+        }
+
+        /**
+         * Checks if the stack is empty.
+         * 
+         * @return true if there is no move on the stack, false otherwise
+         */
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Removes all moves from the stack.
+         */
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -3,7 +3,10 @@
 
 package com.koteseni.ijaproj.model;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.EnumSet;
 import java.util.List;
 
@@ -16,6 +19,9 @@ import com.google.gson.JsonObject;
  * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
  */
 public class GameState {
+    /** Number of moves between two cached keyframe boards. */
+    private static final int KEYFRAME_INTERVAL = 64;
+
     /** Number of rows in the game board. */
     private final int rows;
 
@@ -34,6 +40,24 @@ public class GameState {
     /** List of moves made by the player in chronological order. */
     private final List<Move> moves;
 
+    /**
+     * Lazily computed board snapshots, the keyframe at index k holds the board
+     * after the first k * KEYFRAME_INTERVAL moves.
+     */
+    private final List<Board> keyframes = new ArrayList<>();
+
+    /**
+     * Lazily computed sorted move indices for every tile, indexed by
+     * row * cols + col.
+     */
+    private int[][] tile_move_indices;
+
+    /**
+     * Lazily computed clockwise turns of every tile after each of its moves,
+     * parallel to tile_move_indices.
+     */
+    private int[][] tile_turn_sums;
+
     /**
      * Creates a new GameState with the specified parameters.
      *
@@ -128,7 +152,8 @@ public class GameState {
      * Applies moves to a board up to the specified move index.
      * 
      * <p>
-     * Used for replaying a game.
+     * Used for replaying a game. All moves are applied as one batch with a
+     * single power propagation.
      * </p>
      *
      * @param board      The board on which to apply the moves
@@ -139,10 +164,186 @@ public class GameState {
             return;
         }
 
-        for (int i = 0; i <= move_index; i++) {
+        applyMoveRange(board, 0, move_index + 1);
+    }
+
+    /**
+     * Creates a Board object with all moves up to the specified move index
+     * applied.
+     * 
+     * <p>
+     * Restores the nearest cached keyframe and applies at most KEYFRAME_INTERVAL
+     * moves on top of it, so seeking costs the same no matter how long the game
+     * is.
+     * </p>
+     *
+     * @param move_index The index of the last move (inclusive) to apply, -1 for
+     *                   the initial board
+     * 
+     * @return A new Board object representing the game after the specified move
+     */
+    public Board createBoardAt(int move_index) {
+        int applied_moves = Math.max(0, Math.min(move_index + 1, moves.size()));
+        int keyframe_index = applied_moves / KEYFRAME_INTERVAL;
+
+        Board board = getKeyframe(keyframe_index).deepCopy();
+        applyMoveRange(board, keyframe_index * KEYFRAME_INTERVAL, applied_moves);
+
+        return board;
+    }
+
+    /**
+     * Gets the keyframe board at the specified index.
+     * 
+     * <p>
+     * Missing keyframes are computed from the last cached one and cached.
+     * </p>
+     *
+     * @param keyframe_index Index of the keyframe
+     * 
+     * @return The cached keyframe board, must not be modified
+     */
+    private Board getKeyframe(int keyframe_index) {
+        if (keyframes.isEmpty()) {
+            keyframes.add(createInitialBoard());
+        }
+
+        while (keyframes.size() <= keyframe_index) {
+            int from = (keyframes.size() - 1) * KEYFRAME_INTERVAL;
+            Board keyframe = keyframes.get(keyframes.size() - 1).deepCopy();
+            applyMoveRange(keyframe, from, from + KEYFRAME_INTERVAL);
+            keyframes.add(keyframe);
+        }
+
+        return keyframes.get(keyframe_index);
+    }
+
+    /**
+     * Applies a range of moves to a board and propagates power once at the end.
+     *
+     * @param board The board on which to apply the moves
+     * @param from  Index of the first move (inclusive) to apply
+     * @param to    Index of the last move (exclusive) to apply
+     */
+    private void applyMoveRange(Board board, int from, int to) {
+        board.turnTiles(moves.subList(from, to));
+    }
+
+    /**
+     * Rotates the tiles of a board from the state after one move to the state
+     * after another move and propagates power once at the end.
+     * 
+     * <p>
+     * The rotation of every tile is found by binary search in its move indices,
+     * so seeking costs O(tiles * log moves) with no intermediate propagations.
+     * Undo moves count as three clockwise turns.
+     * </p>
+     *
+     * @param board              The board currently showing the state after
+     *                           current_move_index
+     * @param current_move_index The index of the last move applied to the board,
+     *                           -1 for the initial board
+     * @param move_index         The index of the last move to seek to, -1 for
+     *                           the initial board
+     */
+    public void seek(Board board, int current_move_index, int move_index) {
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                Tile tile = board.getTile(row, col);
+                if (tile == null) {
+                    continue;
+                }
+
+                int turns = getTurnCount(row, col, move_index) - getTurnCount(row, col, current_move_index);
+                turns = Math.floorMod(turns, 4);
+                if (turns != 0) {
+                    tile.turn(turns);
+                }
+            }
+        }
+
+        board.propagatePower();
+    }
+
+    /**
+     * Gets the number of clockwise turns of a tile up to the specified move index.
+     *
+     * @param row        Row position of the tile
+     * @param col        Column position of the tile
+     * @param move_index The index of the last move (inclusive) to count
+     * 
+     * @return Number of clockwise turns of the tile up to the move index, an undo
+     *         counting as three turns
+     */
+    public int getTurnCount(int row, int col, int move_index) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols || move_index < 0) {
+            return 0;
+        }
+
+        int tile_index = row * cols + col;
+        int[] move_indices = getTileMoveIndices()[tile_index];
+        int position = Arrays.binarySearch(move_indices, move_index);
+        int tile_move_count = position >= 0 ? position + 1 : -position - 1;
+
+        return tile_move_count == 0 ? 0 : tile_turn_sums[tile_index][tile_move_count - 1];
+    }
+
+    /**
+     * Gets the sorted move indices of every tile.
+     * 
+     * <p>
+     * Computed from the move list on first use and cached together with the
+     * running sums of the turns of every tile.
+     * </p>
+     *
+     * @return Array of move indices for every tile, indexed by row * cols + col
+     */
+    private int[][] getTileMoveIndices() {
+        if (tile_move_indices != null) {
+            return tile_move_indices;
+        }
+
+        int[] move_counts = new int[rows * cols];
+        for (Move move : moves) {
+            if (isOnBoard(move)) {
+                move_counts[move.getRow() * cols + move.getCol()]++;
+            }
+        }
+
+        int[][] move_indices = new int[rows * cols][];
+        int[][] turn_sums = new int[rows * cols][];
+        for (int i = 0; i < move_indices.length; i++) {
+            move_indices[i] = new int[move_counts[i]];
+            turn_sums[i] = new int[move_counts[i]];
+            move_counts[i] = 0;
+        }
+
+        for (int i = 0; i < moves.size(); i++) {
             Move move = moves.get(i);
-            board.turnTile(move.getRow(), move.getCol());
+            if (isOnBoard(move)) {
+                int tile_index = move.getRow() * cols + move.getCol();
+                int position = move_counts[tile_index]++;
+                move_indices[tile_index][position] = i;
+                turn_sums[tile_index][position] = (position > 0 ? turn_sums[tile_index][position - 1] : 0)
+                        + move.getTurns();
+            }
         }
+
+        tile_turn_sums = turn_sums;
+        tile_move_indices = move_indices;
+
+        return tile_move_indices;
+    }
+
+    /**
+     * Checks if a move targets a position inside the board.
+     *
+     * @param move The move to check
+     * 
+     * @return true if the move is inside the board, false otherwise
+     */
+    private boolean isOnBoard(Move move) {
+        return move.getRow() >= 0 && move.getRow() < rows && move.getCol() >= 0 && move.getCol() < cols;
     }
 
     /**
@@ -154,6 +355,27 @@ public class GameState {
         return moves.size();
     }
 
+    /**
+     * Gets the duration of this game.
+     * 
+     * <p>
+     * Measured between the timestamps of the first and the last move, as the
+     * start time is stored without a time zone.
+     * </p>
+     *
+     * @return The duration of the game, zero if no moves were made
+     */
+    public Duration getDuration() {
+        if (moves.isEmpty()) {
+            return Duration.ZERO;
+        }
+
+        long first_timestamp = moves.get(0).getTimestamp();
+        long last_timestamp = moves.get(moves.size() - 1).getTimestamp();
+
+        return Duration.ofMillis(last_timestamp - first_timestamp);
+    }
+
     /**
      * Gets the difficulty level of this game.
      *
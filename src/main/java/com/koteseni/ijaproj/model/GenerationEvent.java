@@ -0,0 +1,34 @@
+// JFR event recorded for every generated board and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every generated board.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@Name("com.koteseni.ijaproj.Generation")
+@Label("Board Generation")
+@Category({ "Koteseni", "Model" })
+@Description("Generation of a new solvable board")
+final class GenerationEvent extends Event {
+
+    /** Number of rows of the board. */
+    @Label("Rows")
+    int rows;
+
+    /** Number of columns of the board. */
+    @Label("Columns")
+    int cols;
+
+    /** Number of light bulbs placed on the board. */
+    @Label("Light Bulbs")
+    int light_bulbs;
+}
@@ -0,0 +1,113 @@
+// Class holding the summary of a histogram at one point in time and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import javax.management.ConstructorParameters;
+
+/**
+ * Summary of a histogram at one point in time.
+ * 
+ * <p>
+ * Immutable, so it can be handed to other threads. Shown as a composite
+ * attribute of the GameMetricsMXBean, so JConsole lists all values of one
+ * metric together.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class HistogramSnapshot {
+
+    /** Number of recorded values. */
+    private final long count;
+
+    /** Mean of the recorded values. */
+    private final double mean;
+
+    /** Median of the recorded values. */
+    private final long p50;
+
+    /** 99th percentile of the recorded values. */
+    private final long p99;
+
+    /** Highest recorded value. */
+    private final long max;
+
+    /**
+     * Creates a new snapshot.
+     * 
+     * @param count Number of recorded values
+     * @param mean  Mean of the recorded values
+     * @param p50   Median of the recorded values
+     * @param p99   99th percentile of the recorded values
+     * @param max   Highest recorded value
+     */
+    @ConstructorParameters({ "count", "mean", "p50", "p99", "max" })
+    public HistogramSnapshot(long count, double mean, long p50, long p99, long max) {
+        this.count = count;
+        this.mean = mean;
+        this.p50 = p50;
+        this.p99 = p99;
+        this.max = max;
+    }
+
+    /**
+     * Creates a snapshot of a histogram with every value divided by a unit.
+     * 
+     * @param histogram The histogram, not modified while the snapshot is taken
+     * @param unit      Divisor of the recorded values, 1000 turns nanoseconds
+     *                  into microseconds
+     * 
+     * @return The snapshot
+     */
+    public static HistogramSnapshot of(LatencyHistogram histogram, long unit) {
+        return new HistogramSnapshot(histogram.getTotalCount(), histogram.getMean() / unit,
+                histogram.getValueAtPercentile(50) / unit, histogram.getValueAtPercentile(99) / unit,
+                histogram.getMax() / unit);
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * 
+     * @return The number of values
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     * 
+     * @return The mean, 0 if nothing was recorded
+     */
+    public double getMean() {
+        return mean;
+    }
+
+    /**
+     * Gets the median of the recorded values.
+     * 
+     * @return The median, 0 if nothing was recorded
+     */
+    public long getP50() {
+        return p50;
+    }
+
+    /**
+     * Gets the 99th percentile of the recorded values.
+     * 
+     * @return The 99th percentile, 0 if nothing was recorded
+     */
+    public long getP99() {
+        return p99;
+    }
+
+    /**
+     * Gets the highest recorded value.
+     * 
+     * @return The highest value, 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+}
@@ -0,0 +1,174 @@
+// Class recording latencies into a fixed size log-linear histogram and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.util.Arrays;
+
+/**
+ * Records latencies into a fixed size log-linear histogram.
+ * 
+ * <p>
+ * Values below 32 have their own buckets, larger values are split into 32
+ * buckets per power of two, so every value is recorded with a relative error
+ * below about 3 % up to the whole range of a long. Recording is a few
+ * arithmetic operations with no allocation, so it can stay enabled in hot
+ * paths. Not thread-safe.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class LatencyHistogram {
+
+    /** Number of bits of a value kept below its highest bit. */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /** Number of buckets per power of two. */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** Number of buckets covering all positive long values. */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    /** Number of recorded values in every bucket. */
+    private final long[] counts = new long[BUCKET_COUNT];
+
+    /** Number of recorded values. */
+    private long total_count;
+
+    /** Sum of all recorded values. */
+    private long total;
+
+    /** Highest recorded value. */
+    private long max;
+
+    /**
+     * Records a value.
+     * 
+     * @param value The value to record, negative values are recorded as 0
+     */
+    public void record(long value) {
+        value = Math.max(0, value);
+
+        counts[getBucket(value)]++;
+        total_count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values recorded by another histogram.
+     * 
+     * <p>
+     * Lets every thread record into its own histogram and merge them at the end.
+     * </p>
+     * 
+     * @param other The histogram to add, not modified
+     */
+    public void add(LatencyHistogram other) {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            counts[bucket] += other.counts[bucket];
+        }
+        total_count += other.total_count;
+        total += other.total;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Removes all recorded values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total_count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     * 
+     * @return The number of values
+     */
+    public long getTotalCount() {
+        return total_count;
+    }
+
+    /**
+     * Gets the highest recorded value.
+     * 
+     * @return The highest value, 0 if nothing was recorded
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Gets the mean of the recorded values.
+     * 
+     * @return The mean, 0 if nothing was recorded
+     */
+    public double getMean() {
+        return total_count == 0 ? 0 : (double) total / total_count;
+    }
+
+    /**
+     * Gets the value at a percentile.
+     * 
+     * @param percentile The percentile from 0 to 100
+     * 
+     * @return The highest value of the bucket containing the percentile, at most
+     *         the highest recorded value, 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (total_count == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * total_count));
+        long count = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            count += counts[bucket];
+            if (count >= target) {
+                return Math.min(max, getBucketHighestValue(bucket));
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Gets the bucket of a value.
+     * 
+     * @param value The value, not negative
+     * 
+     * @return Index of the bucket
+     */
+    private static int getBucket(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+
+        int highest_bit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = highest_bit - SUB_BUCKET_BITS;
+
+        // the highest bit is always set, so only the bits below it pick the bucket
+        return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+    }
+
+    /**
+     * Gets the highest value recorded into a bucket.
+     * 
+     * @param bucket Index of the bucket
+     * 
+     * @return The highest value of the bucket
+     */
+    private static long getBucketHighestValue(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        int shift = bucket / SUB_BUCKET_COUNT - 1;
+        long sub_bucket = bucket % SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+        return ((sub_bucket + 1) << shift) - 1;
+    }
+}
@@ -49,4 +49,18 @@ public class LightBulb extends Tile {
     public Direction getDirection() {
         return connections.iterator().next();
     }
+
+    /**
+     * Gets the orientation of the light bulb image.
+     * 
+     * <p>
+     * The image points in the direction of the only connection.
+     * </p>
+     * 
+     * @return Number of clockwise quarter turns of the image, from 0 to 3
+     */
+    @Override
+    public int getOrientation() {
+        return Integer.numberOfTrailingZeros(connection_mask);
+    }
 }
@@ -0,0 +1,36 @@
+// JFR event recorded for every loaded save and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every loaded save.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@Name("com.koteseni.ijaproj.Load")
+@Label("Game Load")
+@Category({ "Koteseni", "Persistence" })
+@Description("Reading and parsing a save file")
+final class LoadEvent extends Event {
+
+    /** Path to the save file. */
+    @Label("Path")
+    String path;
+
+    /** Number of moves in the save. */
+    @Label("Moves")
+    int moves;
+
+    /** Size of the save file. */
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes_read;
+}
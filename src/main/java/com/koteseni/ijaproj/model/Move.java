@@ -18,6 +18,9 @@ public class Move {
     /** Timestamp when the move was made (in milliseconds since epoch). */
     private final long timestamp;
 
+    /** Flag if the move undid an earlier rotation of the tile. */
+    private final boolean undo;
+
     /**
      * Creates a new Move with the specified parameters.
      *
@@ -26,9 +29,22 @@ public class Move {
      * @param timestamp Timestamp when the move was made
      */
     public Move(int row, int col, long timestamp) {
+        this(row, col, timestamp, false);
+    }
+
+    /**
+     * Creates a new Move with the specified parameters.
+     *
+     * @param row       Row position of the tile that was rotated
+     * @param col       Column position of the tile that was rotated
+     * @param timestamp Timestamp when the move was made
+     * @param undo      true if the move undid an earlier rotation of the tile
+     */
+    public Move(int row, int col, long timestamp, boolean undo) {
         this.row = row;
         this.col = col;
         this.timestamp = timestamp;
+        this.undo = undo;
     }
 
     /**
@@ -61,4 +77,26 @@ public class Move {
     public long getTimestamp() {
         return timestamp;
     }
+
+    /**
+     * Checks if the move undid an earlier rotation of the tile.
+     *
+     * @return true if the move is an undo, false for a normal rotation
+     */
+    public boolean isUndo() {
+        return undo;
+    }
+
+    /**
+     * Gets the number of clockwise turns the move applies to the tile.
+     * 
+     * <p>
+     * An undo turns the tile back, which is the same as three clockwise turns.
+     * </p>
+     *
+     * @return 1 for a normal rotation, 3 for an undo
+     */
+    public int getTurns() {
+        return undo ? 3 : 1;
+    }
 }
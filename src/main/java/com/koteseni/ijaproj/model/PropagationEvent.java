@@ -0,0 +1,45 @@
+// JFR event recorded for every power propagation and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event recorded for every power propagation.
+ * 
+ * <p>
+ * Propagations run for every move and many times while generating a board, so
+ * the event has no stack trace to keep recording cheap.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@Name("com.koteseni.ijaproj.Propagation")
+@Label("Power Propagation")
+@Category({ "Koteseni", "Model" })
+@Description("Power spreading from the source or from a rotated tile")
+@StackTrace(false)
+final class PropagationEvent extends Event {
+
+    /** Number of rows of the board. */
+    @Label("Rows")
+    int rows;
+
+    /** Number of columns of the board. */
+    @Label("Columns")
+    int cols;
+
+    /** Number of tiles the propagation visited. */
+    @Label("Visited Tiles")
+    int visited_tiles;
+
+    /** Flag if only the network of a rotated tile was extended. */
+    @Label("Incremental")
+    boolean incremental;
+}
@@ -0,0 +1,16 @@
+// Class representing the command to redo the last undone move and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+/**
+ * Command rotating the tile of the last undone move again.
+ * 
+ * <p>
+ * Ignored if there is no undone move, a new rotation drops all undone moves.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class RedoMove implements GameCommand {
+}
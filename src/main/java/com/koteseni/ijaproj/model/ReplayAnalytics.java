@@ -0,0 +1,320 @@
+// Class computing statistics from the moves of saved games and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Computes statistics from the moves of saved games.
+ * 
+ * <p>
+ * Every game is processed in a single pass over its moves. Results of
+ * different games can be merged, so whole directories of saves can be analyzed
+ * in parallel.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class ReplayAnalytics {
+
+    /** Upper bounds of the think time histogram buckets in milliseconds. */
+    private static final long[] THINK_TIME_BUCKET_BOUNDS = { 250, 500, 1000, 2000, 4000, 8000, 16000, 32000 };
+
+    /** Number of analyzed games. */
+    private long game_count;
+
+    /** Number of save files that could not be analyzed. */
+    private long failed_count;
+
+    /** Total number of rotations in all games. */
+    private long total_rotations;
+
+    /** Number of rotations spent on full 360 degree cycles of a tile, undone rotations not counted. */
+    private long wasted_rotations;
+
+    /** Rotation counts of every tile, keyed by board size in the format "rowsxcols". */
+    private final Map<String, long[]> rotation_heatmaps = new HashMap<>();
+
+    /** Number of think times between two moves in each histogram bucket. */
+    private final long[] think_time_histogram = new long[THINK_TIME_BUCKET_BOUNDS.length + 1];
+
+    /** Time to solve of solved games in milliseconds, keyed by difficulty. */
+    private final Map<Integer, LongSummaryStatistics> solve_times = new TreeMap<>();
+
+    /**
+     * Analyzes a single game.
+     * 
+     * @param game_state The game to analyze
+     * 
+     * @return Analytics of the game
+     */
+    public static ReplayAnalytics analyze(GameState game_state) {
+        ReplayAnalytics analytics = new ReplayAnalytics();
+        analytics.add(game_state);
+
+        return analytics;
+    }
+
+    /**
+     * Analyzes all save files in a directory and its subdirectories in parallel.
+     * 
+     * <p>
+     * Every worker collects partial results which are merged at the end.
+     * </p>
+     * 
+     * @param directory The directory with the save files
+     * 
+     * @return Merged analytics of all games
+     * 
+     * @throws IOException if there's an error walking the directory
+     */
+    public static ReplayAnalytics analyzeDirectory(Path directory) throws IOException {
+        List<Path> save_paths;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            save_paths = paths.filter(path -> path.toString().endsWith(".json")).toList();
+        }
+
+        return save_paths.parallelStream()
+                .collect(ReplayAnalytics::new, ReplayAnalytics::addSave, ReplayAnalytics::merge);
+    }
+
+    /**
+     * Loads a save file and adds its game to the analytics.
+     * 
+     * @param path Path to the save file
+     */
+    private void addSave(Path path) {
+        try {
+            add(GameLogger.loadGame(path.toString()));
+        } catch (IOException | RuntimeException e) {
+            failed_count++;
+        }
+    }
+
+    /**
+     * Adds a game to the analytics.
+     * 
+     * <p>
+     * Counts the rotations of every tile and the think times in one pass over the
+     * moves. The net turns of every tile, where an undo turns the tile back, are
+     * then used to check if the final board is solved without replaying the moves
+     * again. Full cycles are counted from the net rotations too, so an undo and
+     * the rotation it takes back are never counted as wasted.
+     * </p>
+     * 
+     * @param game_state The game to add
+     */
+    public void add(GameState game_state) {
+        int rows = game_state.getRows();
+        int cols = game_state.getCols();
+        int[] rotation_counts = new int[rows * cols];
+        int[] turn_counts = new int[rows * cols];
+        int[] net_rotations = new int[rows * cols];
+
+        long previous_timestamp = -1;
+        for (Move move : game_state.getMoves()) {
+            int row = move.getRow();
+            int col = move.getCol();
+            if (row >= 0 && row < rows && col >= 0 && col < cols) {
+                rotation_counts[row * cols + col]++;
+                turn_counts[row * cols + col] += move.getTurns();
+                net_rotations[row * cols + col] += move.isUndo() ? -1 : 1;
+            }
+
+            if (previous_timestamp >= 0) {
+                think_time_histogram[getThinkTimeBucket(move.getTimestamp() - previous_timestamp)]++;
+            }
+            previous_timestamp = move.getTimestamp();
+        }
+
+        long[] heatmap = rotation_heatmaps.computeIfAbsent(rows + "x" + cols, key -> new long[rows * cols]);
+        for (int i = 0; i < rotation_counts.length; i++) {
+            heatmap[i] += rotation_counts[i];
+            wasted_rotations += Math.max(0, net_rotations[i]) / 4 * 4;
+        }
+
+        game_count++;
+        total_rotations += game_state.getTotalMoves();
+
+        Board board = game_state.createInitialBoard();
+        board.turnTiles(turn_counts);
+        if (board.areAllLightBulbsPowered()) {
+            solve_times.computeIfAbsent(game_state.getDifficulty(), key -> new LongSummaryStatistics())
+                    .accept(game_state.getDuration().toMillis());
+        }
+    }
+
+    /**
+     * Merges the results of other analytics into these analytics.
+     * 
+     * @param other The analytics to merge
+     * 
+     * @return These analytics
+     */
+    public ReplayAnalytics merge(ReplayAnalytics other) {
+        game_count += other.game_count;
+        failed_count += other.failed_count;
+        total_rotations += other.total_rotations;
+        wasted_rotations += other.wasted_rotations;
+
+        for (Map.Entry<String, long[]> entry : other.rotation_heatmaps.entrySet()) {
+            long[] other_heatmap = entry.getValue();
+            long[] heatmap = rotation_heatmaps.computeIfAbsent(entry.getKey(), key -> new long[other_heatmap.length]);
+            for (int i = 0; i < heatmap.length; i++) {
+                heatmap[i] += other_heatmap[i];
+            }
+        }
+
+        for (int i = 0; i < think_time_histogram.length; i++) {
+            think_time_histogram[i] += other.think_time_histogram[i];
+        }
+
+        for (Map.Entry<Integer, LongSummaryStatistics> entry : other.solve_times.entrySet()) {
+            solve_times.computeIfAbsent(entry.getKey(), key -> new LongSummaryStatistics()).combine(entry.getValue());
+        }
+
+        return this;
+    }
+
+    /**
+     * Gets the histogram bucket of a think time.
+     * 
+     * @param think_time Time between two moves in milliseconds
+     * 
+     * @return Index of the histogram bucket
+     */
+    private static int getThinkTimeBucket(long think_time) {
+        for (int i = 0; i < THINK_TIME_BUCKET_BOUNDS.length; i++) {
+            if (think_time < THINK_TIME_BUCKET_BOUNDS[i]) {
+                return i;
+            }
+        }
+
+        return THINK_TIME_BUCKET_BOUNDS.length;
+    }
+
+    /**
+     * Creates a human readable report of the analytics.
+     * 
+     * @return The report
+     */
+    public String createReport() {
+        StringBuilder report = new StringBuilder();
+
+        report.append("Games: ").append(game_count).append(" (").append(failed_count).append(" failed to load)\n");
+        report.append("Rotations: ").append(total_rotations).append(", wasted on full cycles: ")
+                .append(wasted_rotations).append('\n');
+
+        report.append("Think time between moves:\n");
+        for (int i = 0; i < think_time_histogram.length; i++) {
+            String bucket = i < THINK_TIME_BUCKET_BOUNDS.length ? "< " + THINK_TIME_BUCKET_BOUNDS[i] + "ms"
+                    : ">= " + THINK_TIME_BUCKET_BOUNDS[THINK_TIME_BUCKET_BOUNDS.length - 1] + "ms";
+            report.append("  ").append(bucket).append(": ").append(think_time_histogram[i]).append('\n');
+        }
+
+        report.append("Time to solve by difficulty:\n");
+        for (Map.Entry<Integer, LongSummaryStatistics> entry : solve_times.entrySet()) {
+            LongSummaryStatistics statistics = entry.getValue();
+            report.append("  ").append(entry.getKey()).append(": ").append(statistics.getCount())
+                    .append(" solved, avg ").append((long) statistics.getAverage() / 1000).append("s, min ")
+                    .append(statistics.getMin() / 1000).append("s, max ").append(statistics.getMax() / 1000)
+                    .append("s\n");
+        }
+
+        return report.toString();
+    }
+
+    /**
+     * Gets the number of analyzed games.
+     * 
+     * @return The number of games
+     */
+    public long getGameCount() {
+        return game_count;
+    }
+
+    /**
+     * Gets the number of save files that could not be analyzed.
+     * 
+     * @return The number of failed save files
+     */
+    public long getFailedCount() {
+        return failed_count;
+    }
+
+    /**
+     * Gets the total number of rotations in all games.
+     * 
+     * @return The number of rotations
+     */
+    public long getTotalRotations() {
+        return total_rotations;
+    }
+
+    /**
+     * Gets the number of rotations spent on full 360 degree cycles of a tile.
+     * 
+     * <p>
+     * Rotations taken back by an undo are not counted, only full cycles of the
+     * net rotation of every tile.
+     * </p>
+     * 
+     * @return The number of wasted rotations
+     */
+    public long getWastedRotations() {
+        return wasted_rotations;
+    }
+
+    /**
+     * Gets the rotation counts of every tile for a board size.
+     * 
+     * @param rows Number of rows of the board
+     * @param cols Number of columns of the board
+     * 
+     * @return Rotation counts indexed by row * cols + col, or null if no game of
+     *         the size was analyzed
+     */
+    public long[] getRotationHeatmap(int rows, int cols) {
+        return rotation_heatmaps.get(rows + "x" + cols);
+    }
+
+    /**
+     * Gets the think time histogram.
+     * 
+     * @return Number of think times in each bucket
+     */
+    public long[] getThinkTimeHistogram() {
+        return think_time_histogram;
+    }
+
+    /**
+     * Gets the upper bounds of the think time histogram buckets.
+     * 
+     * <p>
+     * The last bucket has no upper bound.
+     * </p>
+     * 
+     * @return The bucket bounds in milliseconds
+     */
+    public static long[] getThinkTimeBucketBounds() {
+        return THINK_TIME_BUCKET_BOUNDS.clone();
+    }
+
+    /**
+     * Gets the time to solve statistics of solved games.
+     * 
+     * @return Time to solve in milliseconds keyed by difficulty
+     */
+    public Map<Integer, LongSummaryStatistics> getSolveTimes() {
+        return solve_times;
+    }
+}
@@ -0,0 +1,46 @@
+// Class representing the command to rotate a tile and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+/**
+ * Command rotating a tile by 90 degrees clockwise as a player move.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class RotateTile implements GameCommand {
+    /** Row position of the tile to rotate. */
+    private final int row;
+
+    /** Column position of the tile to rotate. */
+    private final int col;
+
+    /**
+     * Creates a new command rotating a tile.
+     * 
+     * @param row Row position of the tile to rotate
+     * @param col Column position of the tile to rotate
+     */
+    public RotateTile(int row, int col) {
+        this.row = row;
+        this.col = col;
+    }
+
+    /**
+     * Gets the row position of the tile to rotate.
+     * 
+     * @return The row position
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * Gets the column position of the tile to rotate.
+     * 
+     * @return The column position
+     */
+    public int getCol() {
+        return col;
+    }
+}
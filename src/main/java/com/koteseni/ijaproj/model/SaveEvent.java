@@ -0,0 +1,36 @@
+// JFR event recorded for every saved game and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every saved game.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@Name("com.koteseni.ijaproj.Save")
+@Label("Game Save")
+@Category({ "Koteseni", "Persistence" })
+@Description("Writing a game with all its moves into a save file")
+final class SaveEvent extends Event {
+
+    /** Path to the save file. */
+    @Label("Path")
+    String path;
+
+    /** Number of moves in the save. */
+    @Label("Moves")
+    int moves;
+
+    /** Size of the save file. */
+    @Label("Bytes Written")
+    @DataAmount
+    long bytes_written;
+}
@@ -0,0 +1,47 @@
+// Class representing the command to save a game and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Command saving the game with all moves submitted before it.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+final class SaveGame implements GameCommand {
+    /** Directory for the save file. */
+    private final Path directory;
+
+    /** Path to the save file, completed once the game is saved. */
+    private final CompletableFuture<String> result = new CompletableFuture<>();
+
+    /**
+     * Creates a new command saving the game into a directory.
+     * 
+     * @param directory Directory for the save file
+     */
+    SaveGame(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the directory for the save file.
+     * 
+     * @return The directory
+     */
+    Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Gets the path to the save file.
+     * 
+     * @return Path to the save file, completed exceptionally if saving failed
+     */
+    CompletableFuture<String> getResult() {
+        return result;
+    }
+}
@@ -52,4 +52,18 @@ public class Source extends Tile {
     public void setPowered(boolean powered) {
         this.powered = true;
     }
+
+    /**
+     * Gets the orientation of the source image.
+     * 
+     * <p>
+     * Looked up from the orientation table of the source shape.
+     * </p>
+     * 
+     * @return Number of clockwise quarter turns of the image, from 0 to 3
+     */
+    @Override
+    public int getOrientation() {
+        return shape.getOrientation(connection_mask, rotation_count);
+    }
 }
@@ -21,6 +21,9 @@ public abstract class Tile {
     /** A set of directions this tile has. */
     protected EnumSet<Direction> connections;
 
+    /** The connections of this tile as a bit mask of directions. */
+    protected int connection_mask;
+
     /** Flag if this tile is currently powered. */
     protected boolean powered;
 
@@ -44,6 +47,7 @@ public abstract class Tile {
         this.row = row;
         this.col = col;
         this.connections = connections;
+        this.connection_mask = Direction.toMask(connections);
         this.powered = false;
         this.rotation_count = 0;
         this.player_rotation_count = 0;
@@ -63,17 +67,26 @@ public abstract class Tile {
      * @param count Number of rotations
      */
     public void turn(int count) {
-        for (int i = 0; i < count; i++) {
-            EnumSet<Direction> newConnections = EnumSet.noneOf(Direction.class);
-            for (Direction direction : connections) {
-                newConnections.add(direction.getNext());
-            }
-            connections = newConnections;
-
-            rotation_count = (rotation_count + 1) % 4;
+        if (count <= 0) {
+            return;
+        }
+
+        int quarters = count % 4;
+        if (quarters != 0) {
+            connection_mask = Direction.rotateMask(connection_mask, quarters);
+            connections = Direction.fromMask(connection_mask);
         }
+
+        rotation_count = (rotation_count + quarters) % 4;
     }
 
+    /**
+     * Gets the orientation of the tile image.
+     * 
+     * @return Number of clockwise quarter turns of the image, from 0 to 3
+     */
+    public abstract int getOrientation();
+
     /**
      * Gets the number of rotations needed to reach the correct orientation.
      * 
@@ -145,6 +158,16 @@ public abstract class Tile {
      */
     public void setConnections(EnumSet<Direction> connections) {
         this.connections = connections;
+        this.connection_mask = Direction.toMask(connections);
+    }
+
+    /**
+     * Gets the connections of the tile as a bit mask.
+     * 
+     * @return The connection mask with a bit set for every connected direction
+     */
+    public int getConnectionMask() {
+        return connection_mask;
     }
 
     /**
@@ -0,0 +1,16 @@
+// Class representing the command to undo the last move and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+/**
+ * Command rotating the tile of the last not undone move back by 90 degrees.
+ * 
+ * <p>
+ * Ignored if there is no move to undo.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class UndoMove implements GameCommand {
+}
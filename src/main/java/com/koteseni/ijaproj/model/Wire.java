@@ -46,4 +46,18 @@ public class Wire extends Tile {
     public WireShape getShape() {
         return shape;
     }
+
+    /**
+     * Gets the orientation of the wire image.
+     * 
+     * <p>
+     * Looked up from the orientation table of the wire shape.
+     * </p>
+     * 
+     * @return Number of clockwise quarter turns of the image, from 0 to 3
+     */
+    @Override
+    public int getOrientation() {
+        return shape.getOrientation(connection_mask, rotation_count);
+    }
 }
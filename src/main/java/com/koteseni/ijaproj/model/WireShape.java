@@ -24,6 +24,9 @@ public enum WireShape {
     /** Cross wire with connections in all four directions */
     X;
 
+    /** Orientation of every shape indexed by the shape and its connection mask. */
+    private static final int[][] ORIENTATIONS = createOrientations();
+
     /**
      * Creates a set of directions based on this wire shape.
      * 
@@ -79,4 +82,66 @@ public enum WireShape {
             default -> I;
         };
     }
+
+    /**
+     * Gets the orientation of a tile with this shape.
+     * 
+     * <p>
+     * The orientation is the number of clockwise quarter turns of the tile image
+     * and is looked up from a table precomputed for every connection mask. The X
+     * shape has the same connections in every orientation, so its rotation count
+     * is used instead.
+     * </p>
+     * 
+     * @param connection_mask The connections of the tile as a bit mask
+     * @param rotation_count  The rotation count of the tile
+     * 
+     * @return The orientation from 0 to 3
+     */
+    public int getOrientation(int connection_mask, int rotation_count) {
+        if (this == X) {
+            return rotation_count;
+        }
+
+        return ORIENTATIONS[ordinal()][connection_mask & 0xF];
+    }
+
+    /**
+     * Gets the connections of the unrotated tile image of this shape.
+     * 
+     * @return The connection mask shown by the image in orientation 0
+     */
+    private int getImageMask() {
+        return switch (this) {
+            case I -> Direction.NORTH.getMask() | Direction.SOUTH.getMask();
+            case L -> Direction.SOUTH.getMask() | Direction.WEST.getMask();
+            case T -> Direction.SOUTH.getMask() | Direction.WEST.getMask() | Direction.NORTH.getMask();
+            case X -> 0xF;
+        };
+    }
+
+    /**
+     * Creates the orientation table of all shapes.
+     * 
+     * <p>
+     * Orientations are filled from the highest, so shapes that look the same in
+     * more orientations get the lowest one. Masks that no orientation of a shape
+     * has map to 0.
+     * </p>
+     * 
+     * @return Orientations indexed by the shape and the connection mask
+     */
+    private static int[][] createOrientations() {
+        WireShape[] shapes = values();
+        int[][] orientations = new int[shapes.length][16];
+
+        for (WireShape shape : shapes) {
+            int image_mask = shape.getImageMask();
+            for (int orientation = 3; orientation >= 0; orientation--) {
+                orientations[shape.ordinal()][Direction.rotateMask(image_mask, orientation)] = orientation;
+            }
+        }
+
+        return orientations;
+    }
 }
@@ -0,0 +1,142 @@
+// Class loading the assets of the game in the background and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.koteseni.ijaproj.controller.GameController;
+
+import javafx.css.CssParser;
+import javafx.scene.text.Font;
+
+/**
+ * Loads the assets of the game in the background.
+ * 
+ * <p>
+ * Started while the main menu is shown, so the first game does not have to
+ * wait for decoding sprites, loading the font, the stylesheet or the classes
+ * of the later scenes. The loading runs on a virtual thread and every step only
+ * warms caches, so the game works the same if it has not finished yet.
+ * </p>
+ * 
+ * <p>
+ * The FXML files are not loaded, as loading creates their controllers, which
+ * may read the saves or show dialogs and must only run on the FX thread. Only
+ * the classes they use are loaded and initialized.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class AssetPreloader {
+
+    /** Path of the font used by all labels and buttons. */
+    private static final String FONT_PATH = "/com/koteseni/ijaproj/font/MinecraftRegular.otf";
+
+    /** Path of the stylesheet used by all scenes. */
+    private static final String STYLESHEET_PATH = "/com/koteseni/ijaproj/view/styles.css";
+
+    /** FXML files of all scenes shown after the main menu. */
+    private static final String[] FXML_PATHS = {
+            "/com/koteseni/ijaproj/view/difficulty-menu.fxml",
+            "/com/koteseni/ijaproj/view/game-view.fxml",
+            "/com/koteseni/ijaproj/view/replay-view.fxml",
+    };
+
+    /** Imported classes and the controller class of an FXML file. */
+    private static final Pattern FXML_CLASS_PATTERN = Pattern.compile(
+            "<\\?import ([\\w.]+)\\?>|fx:controller=\"([\\w.]+)\"");
+
+    /** Completion of the running preload, null before the first start. */
+    private static CompletableFuture<Void> preload;
+
+    /**
+     * Prevents creating instances of this class.
+     */
+    private AssetPreloader() {
+    }
+
+    /**
+     * Starts loading all assets on a virtual thread.
+     * 
+     * <p>
+     * Calling this method again returns the already started preload.
+     * </p>
+     * 
+     * @return Completion of the preload
+     */
+    public static synchronized CompletableFuture<Void> start() {
+        if (preload == null) {
+            preload = new CompletableFuture<>();
+            Thread.ofVirtual().name("asset-preloader").start(() -> {
+                preloadAll();
+                preload.complete(null);
+            });
+        }
+
+        return preload;
+    }
+
+    /**
+     * Loads the font, the sprites of all difficulty levels, the stylesheet and
+     * the classes of the FXML files.
+     * 
+     * <p>
+     * Sprites come first, as they are needed by the first board. Failures are
+     * only reported, the assets are then loaded again when first used.
+     * </p>
+     */
+    private static void preloadAll() {
+        for (int difficulty = 1; difficulty <= GameController.MAX_DIFFICULTY; difficulty++) {
+            int board_size = GameController.getBoardSize(difficulty);
+            TextureAtlas.get((int) BoardRenderer.getTileSize(board_size, board_size));
+        }
+
+        try (InputStream stream = AssetPreloader.class.getResourceAsStream(FONT_PATH)) {
+            if (stream == null || Font.loadFont(stream, 12) == null) {
+                System.err.println("Error preloading font: " + FONT_PATH);
+            }
+        } catch (IOException e) {
+            System.err.println("Error preloading font: " + e.getMessage());
+        }
+
+        // the parsed stylesheet is thrown away, this only warms the classes of the parser
+        try {
+            new CssParser().parse(AssetPreloader.class.getResource(STYLESHEET_PATH));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Error preloading " + STYLESHEET_PATH + ": " + e.getMessage());
+        }
+
+        for (String fxml_path : FXML_PATHS) {
+            preloadClasses(fxml_path);
+        }
+    }
+
+    /**
+     * Loads and initializes the imported classes and the controller class of an
+     * FXML file without creating any instances.
+     * 
+     * @param fxml_path Path of the FXML file
+     */
+    private static void preloadClasses(String fxml_path) {
+        try (InputStream stream = AssetPreloader.class.getResourceAsStream(fxml_path)) {
+            if (stream == null) {
+                System.err.println("Error preloading " + fxml_path + ": file not found");
+                return;
+            }
+
+            Matcher matcher = FXML_CLASS_PATTERN.matcher(new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+            while (matcher.find()) {
+                String class_name = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+                Class.forName(class_name, true, AssetPreloader.class.getClassLoader());
+            }
+        } catch (IOException | ClassNotFoundException | LinkageError e) {
+            System.err.println("Error preloading " + fxml_path + ": " + e.getMessage());
+        }
+    }
+}
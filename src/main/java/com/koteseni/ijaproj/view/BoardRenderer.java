@@ -0,0 +1,274 @@
+// Abstract base class for all renderers of the game board and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.view;
+
+import com.koteseni.ijaproj.controller.GameController;
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.GameMetrics;
+import com.koteseni.ijaproj.model.LightBulb;
+import com.koteseni.ijaproj.model.Source;
+import com.koteseni.ijaproj.model.Tile;
+import com.koteseni.ijaproj.model.Wire;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.layout.GridPane;
+
+/**
+ * Abstract base class for all renderers of the game board.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public abstract class BoardRenderer {
+
+    /** Standard width for the rendered board. */
+    protected static final double GRID_WIDTH = 500;
+
+    /** Standard height for the rendered board. */
+    protected static final double GRID_HEIGHT = 500;
+
+    /** Opacity of the heatmap overlay on the most rotated tile. */
+    protected static final double HEATMAP_MAX_OPACITY = 0.6;
+
+    /** Number of cells above which the board is drawn on a canvas instead of a grid of nodes. */
+    private static final int CANVAS_CELL_THRESHOLD = 400;
+
+    /** The grid pane where the board is rendered. */
+    protected final GridPane grid_pane;
+
+    /** The game board. */
+    protected final Board board;
+
+    /** The controller handling game logic, null in replay mode. */
+    protected final GameController game_controller;
+
+    /** Size of individual tiles, calculated based on board dimensions. */
+    protected final double tile_size;
+
+    /** Shared texture with all sprites pre-rendered at the tile size. */
+    protected final TextureAtlas atlas;
+
+    /** Rotation counts of every tile shown as a heatmap overlay, null when hidden. */
+    private long[] heatmap;
+
+    /** Highest rotation count in the heatmap. */
+    private long heatmap_max;
+
+    /** Flag if the view has to be updated on the next pulse. */
+    private boolean update_requested;
+
+    /** Overlay measuring the time of updates, null if not measured. */
+    private LatencyOverlay latency_overlay;
+
+    /** Timer running the requested update once on the next pulse. */
+    private final AnimationTimer update_timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            stop();
+            runRequestedUpdate();
+        }
+    };
+
+    /**
+     * Creates a new renderer for a game board.
+     * 
+     * @param grid_pane       The grid pane where the board will be rendered
+     * @param board           The board model to render
+     * @param game_controller The controller handling game logic
+     */
+    protected BoardRenderer(GridPane grid_pane, Board board, GameController game_controller) {
+        this.grid_pane = grid_pane;
+        this.board = board;
+        this.game_controller = game_controller;
+        tile_size = getTileSize(board.getRows(), board.getCols());
+        atlas = TextureAtlas.get((int) tile_size);
+    }
+
+    /**
+     * Gets the size of tiles of a board rendered at the standard size.
+     * 
+     * @param rows Number of rows of the board
+     * @param cols Number of columns of the board
+     * 
+     * @return The tile size in whole pixels, at least 1
+     */
+    public static double getTileSize(int rows, int cols) {
+        return Math.max(1, Math.floor(Math.min(GRID_WIDTH / cols, GRID_HEIGHT / rows)));
+    }
+
+    /**
+     * Creates the renderer best suited for the size of a board.
+     * 
+     * <p>
+     * Small boards are rendered as a grid of nodes, large boards are drawn onto a
+     * single canvas which stays fast to lay out and pick.
+     * </p>
+     * 
+     * @param grid_pane       The grid pane where the board will be rendered
+     * @param board           The board model to render
+     * @param game_controller The controller handling game logic, null in replay
+     *                        mode
+     * 
+     * @return A new renderer for the board
+     */
+    public static BoardRenderer create(GridPane grid_pane, Board board, GameController game_controller) {
+        if (board.getRows() * board.getCols() > CANVAS_CELL_THRESHOLD) {
+            return new CanvasBoardView(grid_pane, board, game_controller);
+        }
+
+        return new BoardView(grid_pane, board, game_controller);
+    }
+
+    /**
+     * Updates the view to show the current state of the board.
+     * 
+     * <p>
+     * This method is called every time the board changes (tile rotation, power
+     * propagation, hint overlay).
+     * </p>
+     */
+    public abstract void updateView();
+
+    /**
+     * Requests an update of the view on the next pulse.
+     * 
+     * <p>
+     * All requests made before the next pulse are merged into a single update,
+     * so bursts of changes are rendered at most once per frame. The update
+     * compares every tile with what is already shown, so it covers all changes
+     * since the last update.
+     * </p>
+     */
+    public void requestUpdate() {
+        update_requested = true;
+        update_timer.start();
+    }
+
+    /**
+     * Runs the requested update of the view, if there is one.
+     */
+    private void runRequestedUpdate() {
+        if (!update_requested) {
+            return;
+        }
+        update_requested = false;
+
+        if (latency_overlay != null) {
+            latency_overlay.renderStarted();
+        }
+
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        long start_nanos = System.nanoTime();
+        updateView();
+        GameMetrics.get().recordRender(System.nanoTime() - start_nanos);
+
+        if (event.shouldCommit()) {
+            event.rows = board.getRows();
+            event.cols = board.getCols();
+            event.renderer = getClass().getSimpleName();
+            event.commit();
+        }
+
+        if (latency_overlay != null) {
+            latency_overlay.renderFinished();
+        }
+    }
+
+    /**
+     * Cancels a requested update.
+     * 
+     * <p>
+     * Called when the renderer is replaced, so it does not draw over the new
+     * one.
+     * </p>
+     */
+    public void dispose() {
+        update_requested = false;
+        update_timer.stop();
+    }
+
+    /**
+     * Sets the overlay measuring the time of requested updates.
+     * 
+     * @param latency_overlay The overlay, or null to stop measuring
+     */
+    public void setLatencyOverlay(LatencyOverlay latency_overlay) {
+        this.latency_overlay = latency_overlay;
+    }
+
+    /**
+     * Sets the rotation counts shown as a heatmap overlay.
+     * 
+     * <p>
+     * The more a tile was rotated, the more red it is. The view has to be updated
+     * afterwards.
+     * </p>
+     * 
+     * @param heatmap Rotation counts of every tile indexed by row * cols + col, or
+     *                null to hide the heatmap
+     */
+    public void setHeatmap(long[] heatmap) {
+        this.heatmap = heatmap;
+
+        heatmap_max = 0;
+        if (heatmap != null) {
+            for (long rotation_count : heatmap) {
+                heatmap_max = Math.max(heatmap_max, rotation_count);
+            }
+        }
+    }
+
+    /**
+     * Gets the opacity of the heatmap overlay of a tile.
+     * 
+     * @param index Index of the tile, row * cols + col
+     * 
+     * @return The opacity, 0 if no heatmap is set
+     */
+    protected double getHeatmapOpacity(int index) {
+        if (heatmap == null || heatmap_max == 0) {
+            return 0;
+        }
+
+        return HEATMAP_MAX_OPACITY * heatmap[index] / heatmap_max;
+    }
+
+    /**
+     * Checks if the hint overlay should be shown on a tile.
+     * 
+     * @param tile The tile to check
+     * 
+     * @return true if hints are enabled and the tile exists, false otherwise
+     */
+    protected boolean areHintsVisible(Tile tile) {
+        return tile != null && game_controller != null && game_controller.areHintsEnabled();
+    }
+
+    /**
+     * Gets the background sprite for a tile.
+     * 
+     * @param tile The tile, or null for an empty space
+     * 
+     * @return The redstone block for the source, grass otherwise
+     */
+    protected int getBackgroundSprite(Tile tile) {
+        return tile instanceof Source ? TextureAtlas.REDSTONE_BLOCK : TextureAtlas.GRASS;
+    }
+
+    /**
+     * Determines the sprite for a tile.
+     * 
+     * @param tile The tile to get a sprite for
+     * 
+     * @return The sprite of the tile in the texture atlas, -1 for an empty space
+     */
+    protected int getTileSprite(Tile tile) {
+        return switch (tile) {
+            case Wire wire -> TextureAtlas.getWireSprite(wire.getShape(), wire.isPowered());
+            case Source source -> TextureAtlas.getWireSprite(source.getShape(), source.isPowered());
+            case LightBulb bulb -> TextureAtlas.getTorchSprite(bulb.isPowered());
+            case null, default -> -1;
+        };
+    }
+}
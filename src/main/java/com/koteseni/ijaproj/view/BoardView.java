@@ -3,55 +3,55 @@
 
 package com.koteseni.ijaproj.view;
 
-import java.io.InputStream;
-import java.util.EnumSet;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
 import com.koteseni.ijaproj.controller.GameController;
 import com.koteseni.ijaproj.model.Board;
-import com.koteseni.ijaproj.model.Direction;
-import com.koteseni.ijaproj.model.LightBulb;
-import com.koteseni.ijaproj.model.Source;
 import com.koteseni.ijaproj.model.Tile;
-import com.koteseni.ijaproj.model.Wire;
 
-import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Region;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
 
 /**
- * Handles rendering the game board.
+ * Handles rendering the game board as a grid of nodes.
+ * 
+ * <p>
+ * Used for small boards, large boards are drawn by the CanvasBoardView.
+ * </p>
  * 
  * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
  */
-public class BoardView {
+public class BoardView extends BoardRenderer {
 
-    /** Standard width for the grid pane. */
-    private static final double GRID_WIDTH = 500;
+    /** StackPanes of all tiles indexed by row * cols + col, null until first update. */
+    private StackPane[] tile_panes;
 
-    /** Standard height for the grid pane. */
-    private static final double GRID_HEIGHT = 500;
+    /** Background image views of all tiles. */
+    private ImageView[] background_views;
 
-    /** The grid pane where tiles are rendered. */
-    private final GridPane grid_pane;
+    /** Image views of all tiles. */
+    private ImageView[] tile_views;
 
-    /** The game board. */
-    private final Board board;
+    /** Heatmap overlay regions of all tiles. */
+    private Region[] heat_regions;
 
-    /** The controller handling game logic. */
-    private final GameController game_controller;
+    /** Hint overlay labels of all tiles. */
+    private Label[] hint_labels;
 
-    /** Size of individual tiles, calculated based on board dimensions. */
-    private final double tile_size;
+    /** Heatmap opacity currently shown on every tile. */
+    private double[] rendered_heat;
 
-    /** Cache for loaded images to improve performance. */
-    private final Map<String, Image> image_cache = new HashMap<>();
+    /** Hint currently shown on every tile, -1 if hidden. */
+    private int[] rendered_hints;
 
     /**
      * Creates a new BoardView for rendering a game board.
@@ -61,10 +61,7 @@ public class BoardView {
      * @param game_controller The controller handling game logic
      */
     public BoardView(GridPane grid_pane, Board board, GameController game_controller) {
-        this.grid_pane = grid_pane;
-        this.board = board;
-        this.game_controller = game_controller;
-        tile_size = Math.floor(Math.min(GRID_WIDTH / board.getCols(), GRID_HEIGHT / board.getRows()));
+        super(grid_pane, board, game_controller);
     }
 
     /**
@@ -72,19 +69,47 @@ public class BoardView {
      * 
      * <p>
      * This method is called every time the board changes (tile rotation, power
-     * propagation, hint overlay).
+     * propagation, hint overlay). The nodes of all tiles are created on the first
+     * update, later updates only change the nodes of tiles that changed.
      * </p>
      */
+    @Override
     public void updateView() {
+        if (tile_panes == null) {
+            createTilePanes();
+        }
+
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                updateTilePane(row, col);
+            }
+        }
+    }
+
+    /**
+     * Creates the StackPanes representing all tiles on the board.
+     */
+    private void createTilePanes() {
         grid_pane.getChildren().clear();
 
         int rows = board.getRows();
         int cols = board.getCols();
 
+        tile_panes = new StackPane[rows * cols];
+        background_views = new ImageView[rows * cols];
+        tile_views = new ImageView[rows * cols];
+        heat_regions = new Region[rows * cols];
+        hint_labels = new Label[rows * cols];
+        rendered_heat = new double[rows * cols];
+        rendered_hints = new int[rows * cols];
+        Arrays.fill(rendered_hints, -1);
+
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
-                Tile tile = board.getTile(row, col);
-                StackPane tile_pane = createTilePane(tile, row, col);
+                StackPane tile_pane = createTilePane(row, col);
                 grid_pane.add(tile_pane, col, row);
             }
         }
@@ -96,228 +121,148 @@ public class BoardView {
      * <p>
      * Sets up click handling for player interaction and contains:
      * <ol>
-     * <li>A background image (grass or redstone block)</li>
-     * <li>An image representing the tile itself</li>
-     * <li>Optional hint overlay if hint mode is enabled</li>
+     * <li>A background sprite (grass or redstone block)</li>
+     * <li>A sprite representing the tile itself, hidden for empty spaces</li>
+     * <li>Heatmap overlay, transparent if no heatmap is set</li>
+     * <li>Hint overlay, hidden if hint mode is disabled</li>
      * </ol>
+     * The content of the nodes is set in updateTilePane.
      * </p>
      *
-     * @param tile The tile to render, or null for an empty space
-     * @param row  The row position of the tile
-     * @param col  The column position of the tile
+     * @param row The row position of the tile
+     * @param col The column position of the tile
      * 
      * @return A StackPane representing the tile
      */
-    private StackPane createTilePane(Tile tile, int row, int col) {
+    private StackPane createTilePane(int row, int col) {
+        int index = row * board.getCols() + col;
+
         StackPane stack_pane = new StackPane();
         stack_pane.setPrefSize(tile_size, tile_size);
         stack_pane.setMaxSize(tile_size, tile_size);
         stack_pane.setMinSize(tile_size, tile_size);
 
-        Image background_image;
-        if (tile instanceof Source) {
-            background_image = getImage("redstone_block.png");
-        } else {
-            background_image = getImage("grass_block_top.png");
-        }
+        // both views show a region of the shared texture atlas, which is already at the tile size
+        ImageView background_view = new ImageView(atlas.getImage());
+        ImageView tile_view = new ImageView(atlas.getImage());
+        tile_view.setVisible(false);
 
-        if (background_image != null) {
-            ImageView background_view = new ImageView(background_image);
-            background_view.setFitWidth(tile_size);
-            background_view.setFitHeight(tile_size);
-            stack_pane.getChildren().add(background_view);
-        }
+        Region heat_region = new Region();
+        heat_region.setMouseTransparent(true);
 
-        if (tile != null) {
-            String tile_image_name = getTileImageName(tile);
-            Image tile_image = getImage(tile_image_name);
-            if (tile_image != null) {
-                ImageView tile_view = new ImageView(tile_image);
-                tile_view.setFitWidth(tile_size);
-                tile_view.setFitHeight(tile_size);
-                tile_view.setRotate(calculateRotation(tile));
-                stack_pane.getChildren().add(tile_view);
-            }
+        Label hint_label = new Label();
+        hint_label.setFont(Font.font("Minecraft", FontWeight.BOLD, Math.max(13, tile_size / 5)));
+        hint_label.setVisible(false);
 
-            if (game_controller != null && game_controller.areHintsEnabled()) {
-                showHintOverlay(stack_pane, tile);
-            }
+        stack_pane.getChildren().addAll(background_view, tile_view, heat_region, hint_label);
 
-            // handling clicks only when the game is not in replay mode
-            if (game_controller != null) {
-                stack_pane.setOnMouseClicked(event -> {
-                    game_controller.handleTileClick(row, col);
-                });
-            }
+        // handling clicks only when the game is not in replay mode
+        if (game_controller != null) {
+            stack_pane.setOnMouseClicked(event -> {
+                game_controller.handleTileClick(row, col);
+            });
         }
 
+        tile_panes[index] = stack_pane;
+        background_views[index] = background_view;
+        tile_views[index] = tile_view;
+        heat_regions[index] = heat_region;
+        hint_labels[index] = hint_label;
+
         return stack_pane;
     }
 
     /**
-     * Adds a hint overlay to a tile showing rotation information.
+     * Updates the nodes of a single tile to the current state of the tile.
+     * 
+     * <p>
+     * Only properties that differ from what is currently shown are changed.
+     * </p>
      *
-     * @param stack_pane The StackPane representing the tile
-     * @param tile       The tile to show hints for
+     * @param row The row position of the tile
+     * @param col The column position of the tile
      */
-    private void showHintOverlay(StackPane stack_pane, Tile tile) {
-        int rotations_needed = tile.getRotationsToCorrect();
-        int total_rotations = tile.getPlayerRotationCount();
+    private void updateTilePane(int row, int col) {
+        int index = row * board.getCols() + col;
+        Tile tile = board.getTile(row, col);
 
-        Label hint_label = new Label(total_rotations + "    " + rotations_needed);
+        Rectangle2D background_region = atlas.getRegion(getBackgroundSprite(tile), 0);
+        if (background_views[index].getViewport() != background_region) {
+            background_views[index].setViewport(background_region);
+        }
 
-        if (rotations_needed == 0) {
-            hint_label.getStyleClass().add("hint-correct");
+        ImageView tile_view = tile_views[index];
+        int sprite = getTileSprite(tile);
+        if (sprite < 0) {
+            if (tile_view.isVisible()) {
+                tile_view.setVisible(false);
+            }
         } else {
-            hint_label.getStyleClass().remove("hint-correct");
+            Rectangle2D tile_region = atlas.getRegion(sprite, tile.getOrientation());
+            if (tile_view.getViewport() != tile_region) {
+                tile_view.setViewport(tile_region);
+            }
+            if (!tile_view.isVisible()) {
+                tile_view.setVisible(true);
+            }
         }
 
-        double font_size = Math.max(13, tile_size / 5);
-        hint_label.setFont(Font.font("Minecraft", FontWeight.BOLD, font_size));
-
-        StackPane hint_pane = new StackPane(hint_label);
-        hint_pane.setAlignment(Pos.CENTER);
-        stack_pane.getChildren().add(hint_pane);
-        StackPane.setAlignment(hint_pane, Pos.TOP_CENTER);
+        updateHeatmapOverlay(index);
+        updateHintOverlay(index, areHintsVisible(tile) ? tile : null);
     }
 
     /**
-     * Calculates the proper rotation angle for a tile image.
-     * 
-     * @param tile The tile to calculate rotation for
-     * @return The rotation angle in degrees (0, 90, 180, or 270)
+     * Updates the heatmap overlay of a tile tinting it by its rotation count.
+     *
+     * @param index Index of the tile, row * cols + col
      */
-    private int calculateRotation(Tile tile) {
-        EnumSet<Direction> connections = tile.getConnections();
-
-        return switch (tile) {
-            case Wire wire -> switch (wire.getShape()) {
-                case I -> connections.contains(Direction.NORTH) ? 0 : 90;
-                case L -> {
-                    if (connections.containsAll(EnumSet.of(Direction.SOUTH, Direction.WEST))) {
-                        yield 0;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.WEST, Direction.NORTH))) {
-                        yield 90;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.NORTH, Direction.EAST))) {
-                        yield 180;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.EAST, Direction.SOUTH))) {
-                        yield 270;
-                    }
-
-                    yield 0;
-                }
-                case T -> {
-                    if (connections.containsAll(EnumSet.of(Direction.SOUTH, Direction.WEST, Direction.NORTH))) {
-                        yield 0;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.WEST, Direction.NORTH, Direction.EAST))) {
-                        yield 90;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.NORTH, Direction.EAST, Direction.SOUTH))) {
-                        yield 180;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.EAST, Direction.SOUTH, Direction.WEST))) {
-                        yield 270;
-                    }
-
-                    yield 0;
-                }
-                case X -> {
-                    yield tile.getRotationCount() * 90;
-                }
-            };
-            case Source source -> switch (source.getShape()) {
-                case I -> connections.contains(Direction.NORTH) ? 0 : 90;
-                case L -> {
-                    if (connections.containsAll(EnumSet.of(Direction.SOUTH, Direction.WEST))) {
-                        yield 0;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.WEST, Direction.NORTH))) {
-                        yield 90;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.NORTH, Direction.EAST))) {
-                        yield 180;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.EAST, Direction.SOUTH))) {
-                        yield 270;
-                    }
-
-                    yield 0;
-                }
-                case T -> {
-                    if (connections.containsAll(EnumSet.of(Direction.SOUTH, Direction.WEST, Direction.NORTH))) {
-                        yield 0;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.WEST, Direction.NORTH, Direction.EAST))) {
-                        yield 90;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.NORTH, Direction.EAST, Direction.SOUTH))) {
-                        yield 180;
-                    }
-                    if (connections.containsAll(EnumSet.of(Direction.EAST, Direction.SOUTH, Direction.WEST))) {
-                        yield 270;
-                    }
-
-                    yield 0;
-                }
-                case X -> tile.getRotationCount() * 90;
-            };
-            case LightBulb bulb -> switch (bulb.getDirection()) {
-                case NORTH -> 0;
-                case EAST -> 90;
-                case SOUTH -> 180;
-                case WEST -> 270;
-            };
-
-            default -> 0;
-        };
+    private void updateHeatmapOverlay(int index) {
+        double opacity = getHeatmapOpacity(index);
+        if (rendered_heat[index] == opacity) {
+            return;
+        }
+
+        rendered_heat[index] = opacity;
+        heat_regions[index].setBackground(opacity == 0 ? null
+                : new Background(new BackgroundFill(Color.rgb(255, 0, 0, opacity), null, null)));
     }
 
     /**
-     * Loads and caches an image from the assets/ directory.
+     * Updates the hint overlay of a tile showing rotation information.
      *
-     * @param filename The name of the image file
-     * @return The loaded image, or null if the image could not be loaded
+     * @param index Index of the tile, row * cols + col
+     * @param tile  The tile to show hints for, or null to hide the hint
      */
-    private Image getImage(String filename) {
-        if (image_cache.containsKey(filename)) {
-            return image_cache.get(filename);
-        }
+    private void updateHintOverlay(int index, Tile tile) {
+        Label hint_label = hint_labels[index];
 
-        String path = "/com/koteseni/ijaproj/assets/" + filename;
-        InputStream stream = getClass().getResourceAsStream(path);
-        if (stream == null) {
-            System.err.println("Error loading image: " + path);
-            return null;
+        if (tile == null) {
+            if (hint_label.isVisible()) {
+                hint_label.setVisible(false);
+                rendered_hints[index] = -1;
+            }
+            return;
         }
 
-        Image image = new Image(stream);
-        image_cache.put(filename, image);
-
-        return image;
-    }
+        int rotations_needed = tile.getRotationsToCorrect();
+        int total_rotations = tile.getPlayerRotationCount();
 
-    /**
-     * Determines the image filename for a tile.
-     *
-     * @param tile The tile to get an image for
-     * @return The filename of the appropriate image
-     */
-    private String getTileImageName(Tile tile) {
-        String component_name = "";
-        String suffix = tile.isPowered() ? "_on.png" : "_off.png";
-
-        if (tile instanceof Wire wire) {
-            component_name = "redstone_" + wire.getShape().name();
-        } else if (tile instanceof Source source) {
-            component_name = "redstone_" + source.getShape().name();
-        } else if (tile instanceof LightBulb) {
-            component_name = "redstone_torch";
+        // both counts packed into one value to detect changes without building the text
+        int hint = total_rotations * 4 + rotations_needed;
+        if (rendered_hints[index] == hint) {
+            return;
         }
 
-        return component_name + suffix;
+        rendered_hints[index] = hint;
+        hint_label.setText(total_rotations + "    " + rotations_needed);
+        hint_label.setVisible(true);
+
+        if (rotations_needed == 0) {
+            if (!hint_label.getStyleClass().contains("hint-correct")) {
+                hint_label.getStyleClass().add("hint-correct");
+            }
+        } else {
+            hint_label.getStyleClass().remove("hint-correct");
+        }
     }
 }
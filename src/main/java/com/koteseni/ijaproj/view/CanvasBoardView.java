@@ -0,0 +1,557 @@
+// Class handling rendering large game boards onto a zoomable canvas and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.view;
+
+import java.util.Arrays;
+
+import com.koteseni.ijaproj.controller.GameController;
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.LightBulb;
+import com.koteseni.ijaproj.model.Source;
+import com.koteseni.ijaproj.model.Tile;
+
+import javafx.geometry.Rectangle2D;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * Handles rendering large game boards onto a zoomable and pannable canvas.
+ * 
+ * <p>
+ * The board is shown through a viewport of a fixed size. Scrolling zooms around
+ * the cursor and dragging pans the board. Only cells inside the viewport and a
+ * margin around it are drawn, so short pans just move the canvas and the cost
+ * of drawing is bounded by the viewport size instead of the board size. When
+ * zoomed in, tiles are copied from a texture atlas close to the cell size.
+ * When zoomed out so far that textures are unreadable, every cell is drawn as
+ * flat colored pixels instead.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class CanvasBoardView extends BoardRenderer {
+
+    /** Color of the hint text, matching the label style. */
+    private static final Color HINT_COLOR = Color.WHITE;
+
+    /** Color of the hint text on correctly rotated tiles, matching the hint-correct style. */
+    private static final Color HINT_CORRECT_COLOR = Color.LIGHTGREEN;
+
+    /** Pixels drawn beyond every edge of the viewport. */
+    private static final double MARGIN = 128;
+
+    /** Factor the cell size changes by on every scroll step. */
+    private static final double ZOOM_FACTOR = 1.25;
+
+    /** Largest cell size the board can be zoomed to. */
+    private static final double MAX_CELL_SIZE = 96;
+
+    /** Smallest cell size drawn with textures, smaller cells are drawn as flat colors. */
+    private static final double TEXTURE_MIN_CELL_SIZE = 12;
+
+    /** Smallest cell size showing the hint overlay. */
+    private static final double HINT_MIN_CELL_SIZE = 32;
+
+    /** Largest tile size of the texture atlas, larger cells scale the sprites up. */
+    private static final int MAX_ATLAS_TILE_SIZE = 128;
+
+    /** Flat color of empty spaces. */
+    private static final int GRASS_ARGB = 0xFF5D8F34;
+
+    /** Flat color of the source. */
+    private static final int SOURCE_ARGB = 0xFFB01C0C;
+
+    /** Flat color of powered wires. */
+    private static final int POWERED_ARGB = 0xFFFF3B1F;
+
+    /** Flat color of unpowered wires. */
+    private static final int UNPOWERED_ARGB = 0xFF5C1B12;
+
+    /** Flat color of powered light bulbs. */
+    private static final int BULB_ON_ARGB = 0xFFFFD43B;
+
+    /** Flat color of unpowered light bulbs. */
+    private static final int BULB_OFF_ARGB = 0xFF3C3C3C;
+
+    /** The clipped pane showing a part of the board. */
+    private final Pane viewport;
+
+    /** The canvas the visible part of the board is drawn onto. */
+    private final Canvas canvas;
+
+    /** Width of the viewport. */
+    private final double viewport_width;
+
+    /** Height of the viewport. */
+    private final double viewport_height;
+
+    /** Cell size at which the whole board fits into the viewport. */
+    private final double min_cell_size;
+
+    /** Current size of a cell in pixels. */
+    private double cell_size;
+
+    /** Horizontal position of the viewport on the zoomed board. */
+    private double view_x;
+
+    /** Vertical position of the viewport on the zoomed board. */
+    private double view_y;
+
+    /** Horizontal position of the canvas on the zoomed board. */
+    private double canvas_x;
+
+    /** Vertical position of the canvas on the zoomed board. */
+    private double canvas_y;
+
+    /** Flag if the whole canvas has to be redrawn on the next update. */
+    private boolean redraw_needed = true;
+
+    /** Texture atlas with sprites close to the current cell size. */
+    private TextureAtlas draw_atlas;
+
+    /** Font of the hint overlay at the current cell size. */
+    private Font hint_font;
+
+    /** Horizontal position of the mouse during the last drag event. */
+    private double drag_x;
+
+    /** Vertical position of the mouse during the last drag event. */
+    private double drag_y;
+
+    /** First row drawn on the canvas. */
+    private int first_row;
+
+    /** First column drawn on the canvas. */
+    private int first_col;
+
+    /** Number of columns drawn on the canvas. */
+    private int drawn_cols;
+
+    /** Background sprite drawn on every drawn cell indexed relative to the first drawn cell. */
+    private int[] rendered_backgrounds;
+
+    /** Tile sprite drawn on every drawn cell as sprite * 4 + orientation, -1 for an empty space. */
+    private int[] rendered_sprites;
+
+    /** Heatmap opacity drawn on every drawn cell. */
+    private double[] rendered_heat;
+
+    /** Hint drawn on every drawn cell, -1 if hidden. */
+    private int[] rendered_hints;
+
+    /** Pixels of the canvas when cells are drawn as flat colors. */
+    private int[] pixels;
+
+    /**
+     * Creates a new CanvasBoardView for rendering a game board.
+     * 
+     * @param grid_pane       The grid pane where the viewport will be placed
+     * @param board           The board model to render
+     * @param game_controller The controller handling game logic
+     */
+    public CanvasBoardView(GridPane grid_pane, Board board, GameController game_controller) {
+        super(grid_pane, board, game_controller);
+
+        double fit_cell_size = Math.min(GRID_WIDTH / board.getCols(), GRID_HEIGHT / board.getRows());
+        // not rounded down to whole pixels, a 256x256 board would otherwise get 1 pixel cells in half the grid
+        min_cell_size = fit_cell_size;
+        viewport_width = Math.min(GRID_WIDTH, Math.ceil(board.getCols() * min_cell_size));
+        viewport_height = Math.min(GRID_HEIGHT, Math.ceil(board.getRows() * min_cell_size));
+
+        canvas = new Canvas(viewport_width + 2 * MARGIN, viewport_height + 2 * MARGIN);
+        viewport = new Pane(canvas);
+        viewport.setPrefSize(viewport_width, viewport_height);
+        viewport.setMinSize(viewport_width, viewport_height);
+        viewport.setMaxSize(viewport_width, viewport_height);
+        viewport.setClip(new Rectangle(viewport_width, viewport_height));
+
+        setCellSize(min_cell_size);
+        placeCanvas();
+
+        viewport.setOnScroll(this::handleScroll);
+        viewport.setOnMousePressed(event -> {
+            drag_x = event.getX();
+            drag_y = event.getY();
+        });
+        viewport.setOnMouseDragged(this::handleDrag);
+
+        // handling clicks only when the game is not in replay mode
+        if (game_controller != null) {
+            viewport.setOnMouseClicked(event -> {
+                if (event.isStillSincePress()) {
+                    handleViewportClick(event.getX(), event.getY());
+                }
+            });
+        }
+    }
+
+    /**
+     * Updates the view to show the current state of the board.
+     * 
+     * <p>
+     * The viewport is placed into the grid pane on the first update. Cells are
+     * drawn as textures or flat colors depending on the zoom.
+     * </p>
+     */
+    @Override
+    public void updateView() {
+        if (viewport.getParent() == null) {
+            grid_pane.getChildren().clear();
+            grid_pane.add(viewport, 0, 0);
+        }
+
+        if (cell_size < TEXTURE_MIN_CELL_SIZE) {
+            drawPixels();
+        } else {
+            drawTextures();
+        }
+
+        redraw_needed = false;
+    }
+
+    /**
+     * Draws the cells on the canvas as textures.
+     * 
+     * <p>
+     * After the canvas moved or the zoom changed, every cell on the canvas is
+     * redrawn. Otherwise only cells that changed since the last update are
+     * redrawn.
+     * </p>
+     */
+    private void drawTextures() {
+        GraphicsContext graphics = canvas.getGraphicsContext2D();
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        int last_row = Math.min(rows - 1, (int) ((canvas_y + canvas.getHeight()) / cell_size));
+        int last_col = Math.min(cols - 1, (int) ((canvas_x + canvas.getWidth()) / cell_size));
+
+        boolean full_redraw = redraw_needed || rendered_sprites == null;
+        if (full_redraw) {
+            first_row = Math.max(0, (int) Math.floor(canvas_y / cell_size));
+            first_col = Math.max(0, (int) Math.floor(canvas_x / cell_size));
+            drawn_cols = Math.max(0, last_col - first_col + 1);
+
+            int cell_count = Math.max(0, last_row - first_row + 1) * drawn_cols;
+            if (rendered_sprites == null || rendered_sprites.length < cell_count) {
+                rendered_backgrounds = new int[cell_count];
+                rendered_sprites = new int[cell_count];
+                rendered_heat = new double[cell_count];
+                rendered_hints = new int[cell_count];
+            }
+
+            graphics.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        }
+
+        for (int row = first_row; row <= last_row; row++) {
+            for (int col = first_col; col <= last_col; col++) {
+                int slot = (row - first_row) * drawn_cols + (col - first_col);
+                Tile tile = board.getTile(row, col);
+
+                int background = getBackgroundSprite(tile);
+                int sprite = getTileSprite(tile);
+                if (sprite >= 0) {
+                    sprite = sprite * 4 + tile.getOrientation();
+                }
+                double heat = getHeatmapOpacity(row * cols + col);
+                int hint = cell_size >= HINT_MIN_CELL_SIZE && areHintsVisible(tile)
+                        ? tile.getPlayerRotationCount() * 4 + tile.getRotationsToCorrect()
+                        : -1;
+
+                if (!full_redraw && rendered_backgrounds[slot] == background && rendered_sprites[slot] == sprite
+                        && rendered_heat[slot] == heat && rendered_hints[slot] == hint) {
+                    continue;
+                }
+
+                rendered_backgrounds[slot] = background;
+                rendered_sprites[slot] = sprite;
+                rendered_heat[slot] = heat;
+                rendered_hints[slot] = hint;
+
+                drawTile(graphics, row, col, slot);
+            }
+        }
+    }
+
+    /**
+     * Draws a single tile onto the canvas.
+     * 
+     * <p>
+     * Copies the background and the pre-rotated tile sprite from the texture
+     * atlas, then draws the heatmap overlay and the hint overlay.
+     * </p>
+     * 
+     * @param graphics The graphics context of the canvas
+     * @param row      The row position of the tile
+     * @param col      The column position of the tile
+     * @param slot     Index of the tile relative to the first drawn cell
+     */
+    private void drawTile(GraphicsContext graphics, int row, int col, int slot) {
+        double x = col * cell_size - canvas_x;
+        double y = row * cell_size - canvas_y;
+        double half_size = cell_size / 2;
+
+        graphics.clearRect(x, y, cell_size, cell_size);
+
+        drawRegion(graphics, draw_atlas.getRegion(rendered_backgrounds[slot], 0), x, y);
+
+        int sprite = rendered_sprites[slot];
+        if (sprite >= 0) {
+            drawRegion(graphics, draw_atlas.getRegion(sprite / 4, sprite % 4), x, y);
+        }
+
+        if (rendered_heat[slot] > 0) {
+            graphics.setFill(Color.rgb(255, 0, 0, rendered_heat[slot]));
+            graphics.fillRect(x, y, cell_size, cell_size);
+        }
+
+        int hint = rendered_hints[slot];
+        if (hint >= 0) {
+            int rotations_needed = hint % 4;
+            int total_rotations = hint / 4;
+
+            graphics.setFont(hint_font);
+            graphics.setFill(rotations_needed == 0 ? HINT_CORRECT_COLOR : HINT_COLOR);
+            graphics.setTextAlign(TextAlignment.CENTER);
+            graphics.setTextBaseline(VPos.CENTER);
+            graphics.fillText(total_rotations + "    " + rotations_needed, x + half_size, y + half_size);
+        }
+    }
+
+    /**
+     * Copies a region of the texture atlas onto the canvas scaled to the cell
+     * size.
+     * 
+     * @param graphics The graphics context of the canvas
+     * @param region   The region of the texture atlas
+     * @param x        Left edge of the tile on the canvas
+     * @param y        Top edge of the tile on the canvas
+     */
+    private void drawRegion(GraphicsContext graphics, Rectangle2D region, double x, double y) {
+        graphics.drawImage(draw_atlas.getImage(), region.getMinX(), region.getMinY(), region.getWidth(),
+                region.getHeight(), x, y, cell_size, cell_size);
+    }
+
+    /**
+     * Draws the cells on the canvas as flat colors.
+     * 
+     * <p>
+     * Every pixel of the canvas gets the color of the cell under it. Neighbouring
+     * pixels of the same cell reuse its color, so the work is bounded by the
+     * canvas size even when cells are smaller than a pixel.
+     * </p>
+     */
+    private void drawPixels() {
+        int width = (int) canvas.getWidth();
+        int height = (int) canvas.getHeight();
+        if (pixels == null) {
+            pixels = new int[width * height];
+        }
+
+        int rows = board.getRows();
+        int cols = board.getCols();
+
+        int previous_row = -1;
+        for (int y = 0; y < height; y++) {
+            int line = y * width;
+            int row = (int) Math.floor((canvas_y + y) / cell_size);
+
+            if (row < 0 || row >= rows) {
+                Arrays.fill(pixels, line, line + width, 0);
+                previous_row = -1;
+                continue;
+            }
+
+            // the whole line is the same as the previous one inside the same row
+            if (row == previous_row) {
+                System.arraycopy(pixels, line - width, pixels, line, width);
+                continue;
+            }
+            previous_row = row;
+
+            int previous_col = -1;
+            int argb = 0;
+            for (int x = 0; x < width; x++) {
+                int col = (int) Math.floor((canvas_x + x) / cell_size);
+
+                if (col < 0 || col >= cols) {
+                    pixels[line + x] = 0;
+                    previous_col = -1;
+                    continue;
+                }
+
+                if (col != previous_col) {
+                    argb = getCellArgb(board.getTile(row, col), row * cols + col);
+                    previous_col = col;
+                }
+                pixels[line + x] = argb;
+            }
+        }
+
+        canvas.getGraphicsContext2D().getPixelWriter().setPixels(0, 0, width, height,
+                PixelFormat.getIntArgbInstance(), pixels, 0, width);
+    }
+
+    /**
+     * Gets the flat color of a cell.
+     * 
+     * @param tile  The tile in the cell, or null for an empty space
+     * @param index Index of the tile, row * cols + col
+     * 
+     * @return The color of the cell in the ARGB format, tinted by the heatmap
+     */
+    private int getCellArgb(Tile tile, int index) {
+        int argb = switch (tile) {
+            case Source source -> SOURCE_ARGB;
+            case LightBulb bulb -> bulb.isPowered() ? BULB_ON_ARGB : BULB_OFF_ARGB;
+            case null -> GRASS_ARGB;
+            default -> tile.isPowered() ? POWERED_ARGB : UNPOWERED_ARGB;
+        };
+
+        double heat = getHeatmapOpacity(index);
+        if (heat == 0) {
+            return argb;
+        }
+
+        int red = (int) (((argb >> 16) & 0xFF) * (1 - heat) + 255 * heat);
+        int green = (int) (((argb >> 8) & 0xFF) * (1 - heat));
+        int blue = (int) ((argb & 0xFF) * (1 - heat));
+
+        return 0xFF000000 | red << 16 | green << 8 | blue;
+    }
+
+    /**
+     * Sets the size of a cell and everything drawn at that size.
+     * 
+     * @param cell_size The new cell size in pixels
+     */
+    private void setCellSize(double cell_size) {
+        this.cell_size = cell_size;
+
+        if (cell_size >= TEXTURE_MIN_CELL_SIZE) {
+            // the closest larger power of two, so zooming only ever builds a few atlases
+            int atlas_tile_size = Integer.highestOneBit((int) Math.ceil(cell_size) - 1) << 1;
+            draw_atlas = TextureAtlas.get(Math.min(MAX_ATLAS_TILE_SIZE, atlas_tile_size));
+            hint_font = Font.font("Minecraft", FontWeight.BOLD, Math.max(13, cell_size / 5));
+        }
+
+        redraw_needed = true;
+    }
+
+    /**
+     * Moves the viewport over the board.
+     * 
+     * <p>
+     * The canvas is only moved while the viewport stays inside it, otherwise the
+     * canvas is centered around the viewport again and redrawn on the next
+     * pulse, so a drag or zoom with many events in one frame is drawn once.
+     * </p>
+     * 
+     * @param x The new horizontal position of the viewport on the zoomed board
+     * @param y The new vertical position of the viewport on the zoomed board
+     */
+    private void moveView(double x, double y) {
+        view_x = Math.max(0, Math.min(x, board.getCols() * cell_size - viewport_width));
+        view_y = Math.max(0, Math.min(y, board.getRows() * cell_size - viewport_height));
+
+        boolean outside_canvas = view_x < canvas_x || view_y < canvas_y
+                || view_x + viewport_width > canvas_x + canvas.getWidth()
+                || view_y + viewport_height > canvas_y + canvas.getHeight();
+        if (redraw_needed || outside_canvas) {
+            placeCanvas();
+            requestUpdate();
+        }
+
+        canvas.setTranslateX(canvas_x - view_x);
+        canvas.setTranslateY(canvas_y - view_y);
+    }
+
+    /**
+     * Centers the canvas around the viewport.
+     */
+    private void placeCanvas() {
+        canvas_x = Math.floor(view_x - MARGIN);
+        canvas_y = Math.floor(view_y - MARGIN);
+        canvas.setTranslateX(canvas_x - view_x);
+        canvas.setTranslateY(canvas_y - view_y);
+        redraw_needed = true;
+    }
+
+    /**
+     * Handles scrolling over the viewport by zooming around the cursor.
+     * 
+     * @param event The scroll event
+     */
+    private void handleScroll(ScrollEvent event) {
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+
+        boolean zoom_in = event.getDeltaY() > 0;
+        double new_cell_size = zoom_in ? cell_size * ZOOM_FACTOR : cell_size / ZOOM_FACTOR;
+        if (new_cell_size >= 1) {
+            // whole pixels keep the cells aligned, and every step changes the size by at least one pixel
+            new_cell_size = zoom_in ? Math.max(Math.round(new_cell_size), Math.floor(cell_size) + 1)
+                    : Math.min(Math.round(new_cell_size), Math.ceil(cell_size) - 1);
+        }
+        new_cell_size = Math.max(min_cell_size, Math.min(MAX_CELL_SIZE, new_cell_size));
+
+        if (new_cell_size == cell_size) {
+            return;
+        }
+
+        // the point of the board under the cursor stays under the cursor
+        double board_x = (view_x + event.getX()) / cell_size;
+        double board_y = (view_y + event.getY()) / cell_size;
+
+        setCellSize(new_cell_size);
+        moveView(board_x * cell_size - event.getX(), board_y * cell_size - event.getY());
+        event.consume();
+    }
+
+    /**
+     * Handles dragging over the viewport by panning the board.
+     * 
+     * @param event The mouse event
+     */
+    private void handleDrag(MouseEvent event) {
+        moveView(view_x - (event.getX() - drag_x), view_y - (event.getY() - drag_y));
+
+        drag_x = event.getX();
+        drag_y = event.getY();
+    }
+
+    /**
+     * Handles clicking on the viewport.
+     * 
+     * <p>
+     * Maps the click position to a tile and passes the click to the game
+     * controller.
+     * </p>
+     * 
+     * @param x The x coordinate of the click in the viewport
+     * @param y The y coordinate of the click in the viewport
+     */
+    private void handleViewportClick(double x, double y) {
+        int row = (int) Math.floor((view_y + y) / cell_size);
+        int col = (int) Math.floor((view_x + x) / cell_size);
+
+        if (row < 0 || row >= board.getRows() || col < 0 || col >= board.getCols()) {
+            return;
+        }
+
+        game_controller.handleTileClick(row, col);
+    }
+}
@@ -0,0 +1,360 @@
+// Class measuring and showing render and input latencies and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.view;
+
+import com.koteseni.ijaproj.model.LatencyHistogram;
+
+import javafx.animation.AnimationTimer;
+import javafx.event.EventHandler;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+/**
+ * Measures and shows render and input latencies in an overlay label.
+ * 
+ * <p>
+ * A click is measured from the start of its handling through the model update,
+ * the wait for the next JavaFX pulse and the view update in it to the end of
+ * the layout of that pulse. Every frame the time between pulses and the
+ * duration of the CSS and layout pass are measured too. All times are recorded
+ * into histograms which are shown a few times per second.
+ * </p>
+ * 
+ * <p>
+ * The overlay is toggled with F3, or enabled from the start with the system
+ * property {@value #ENABLED_PROPERTY}. When disabled, the measuring methods
+ * only check a flag. The view is cached and stays in its scene while the player
+ * is in other views, so the controller disables the overlay when leaving the
+ * game and resets it for the next one.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public class LatencyOverlay {
+
+    /** System property enabling the overlay from the start. */
+    public static final String ENABLED_PROPERTY = "koteseni.latency";
+
+    /** Time between two refreshes of the overlay text in nanoseconds. */
+    private static final long REFRESH_INTERVAL_NANOS = 250_000_000L;
+
+    /** Number of nanoseconds in a millisecond. */
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** The label showing the measured latencies. */
+    private final Label label;
+
+    /** Flag if the overlay is enabled. */
+    private boolean enabled;
+
+    /** Time from the start of a click to the end of the next pulse layout. */
+    private final LatencyHistogram click_histogram = new LatencyHistogram();
+
+    /** Time spent updating the model in a click. */
+    private final LatencyHistogram model_histogram = new LatencyHistogram();
+
+    /** Time from the end of the model update of a click to the start of the view update. */
+    private final LatencyHistogram wait_histogram = new LatencyHistogram();
+
+    /** Time spent updating the view after a click. */
+    private final LatencyHistogram view_histogram = new LatencyHistogram();
+
+    /** Time between two pulses. */
+    private final LatencyHistogram frame_histogram = new LatencyHistogram();
+
+    /** Time spent in the CSS and layout pass of a pulse. */
+    private final LatencyHistogram layout_histogram = new LatencyHistogram();
+
+    /** Timer requesting a pulse every frame while the overlay is enabled. */
+    private final AnimationTimer frame_timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            handleFrame(now);
+        }
+    };
+
+    /** Listener of the start of the CSS and layout pass of every pulse. */
+    private final Runnable pre_layout_listener = this::handlePreLayout;
+
+    /** Listener of the end of the CSS and layout pass of every pulse. */
+    private final Runnable post_layout_listener = this::handlePostLayout;
+
+    /** Filter toggling the overlay with F3. */
+    private final EventHandler<KeyEvent> key_filter = event -> {
+        if (event.getCode() == KeyCode.F3) {
+            setEnabled(!enabled);
+            event.consume();
+        }
+    };
+
+    /** Start of the click waiting for the next pulse, 0 if there is none. */
+    private long click_start_nanos;
+
+    /** Time of the last measuring step of the current click. */
+    private long click_step_nanos;
+
+    /** Start of the CSS and layout pass of the current pulse, 0 outside of it. */
+    private long layout_start_nanos;
+
+    /** Time of the previous frame, 0 before the first frame. */
+    private long previous_frame_nanos;
+
+    /** Time of the last refresh of the overlay text. */
+    private long last_refresh_nanos;
+
+    /** Number of frames since the last refresh. */
+    private long frames_since_refresh;
+
+    /** Frames per second measured at the last refresh. */
+    private double fps;
+
+    /**
+     * Creates a new overlay showing latencies in a label.
+     * 
+     * <p>
+     * The overlay hooks into the scene of the label once the label is shown.
+     * </p>
+     * 
+     * @param label The label showing the measured latencies
+     */
+    public LatencyOverlay(Label label) {
+        this.label = label;
+
+        label.setVisible(false);
+        label.setManaged(false);
+        label.setMouseTransparent(true);
+
+        label.sceneProperty().addListener((observable, old_scene, new_scene) -> {
+            if (old_scene != null) {
+                old_scene.removePreLayoutPulseListener(pre_layout_listener);
+                old_scene.removePostLayoutPulseListener(post_layout_listener);
+                old_scene.removeEventFilter(KeyEvent.KEY_PRESSED, key_filter);
+                setEnabled(false);
+            }
+            if (new_scene != null) {
+                install(new_scene);
+            }
+        });
+    }
+
+    /**
+     * Hooks the overlay into a scene.
+     * 
+     * <p>
+     * Adds the pulse listeners and the F3 shortcut to the scene.
+     * </p>
+     * 
+     * @param scene The scene of the label
+     */
+    private void install(Scene scene) {
+        scene.addPreLayoutPulseListener(pre_layout_listener);
+        scene.addPostLayoutPulseListener(post_layout_listener);
+        scene.addEventFilter(KeyEvent.KEY_PRESSED, key_filter);
+
+        if (Boolean.getBoolean(ENABLED_PROPERTY)) {
+            setEnabled(true);
+        }
+    }
+
+    /**
+     * Enables or disables the overlay.
+     * 
+     * <p>
+     * Enabling clears all recorded latencies.
+     * </p>
+     * 
+     * @param enabled true to enable the overlay, false to disable it
+     */
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) {
+            return;
+        }
+
+        this.enabled = enabled;
+        label.setVisible(enabled);
+        label.setManaged(enabled);
+
+        if (enabled) {
+            click_histogram.reset();
+            model_histogram.reset();
+            wait_histogram.reset();
+            view_histogram.reset();
+            frame_histogram.reset();
+            layout_histogram.reset();
+            click_start_nanos = 0;
+            previous_frame_nanos = 0;
+            frames_since_refresh = 0;
+            last_refresh_nanos = System.nanoTime();
+            label.setText("Measuring...");
+            frame_timer.start();
+        } else {
+            frame_timer.stop();
+        }
+    }
+
+    /**
+     * Resets the overlay for a new game.
+     * 
+     * <p>
+     * Disables the overlay, which stops its frame timer, and enables it again
+     * with cleared latencies only if the system property enables it from the
+     * start.
+     * </p>
+     */
+    public void reset() {
+        setEnabled(false);
+        setEnabled(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    /**
+     * Marks the start of handling a click.
+     * 
+     * <p>
+     * Clicks handled before the next pulse are measured from the first one.
+     * </p>
+     */
+    public void clickStarted() {
+        if (!enabled) {
+            return;
+        }
+
+        click_step_nanos = System.nanoTime();
+        if (click_start_nanos == 0) {
+            click_start_nanos = click_step_nanos;
+        }
+    }
+
+    /**
+     * Marks the end of the model update of a click, including power propagation.
+     */
+    public void modelUpdated() {
+        if (!enabled || click_start_nanos == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        model_histogram.record(now - click_step_nanos);
+        click_step_nanos = now;
+    }
+
+    /**
+     * Marks the start of a view update requested by clicks.
+     */
+    public void renderStarted() {
+        if (!enabled || click_start_nanos == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        wait_histogram.record(now - click_step_nanos);
+        click_step_nanos = now;
+    }
+
+    /**
+     * Marks the end of a view update requested by clicks.
+     */
+    public void renderFinished() {
+        if (!enabled || click_start_nanos == 0) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        view_histogram.record(now - click_step_nanos);
+        click_step_nanos = now;
+    }
+
+    /**
+     * Handles the start of the CSS and layout pass of a pulse.
+     */
+    private void handlePreLayout() {
+        if (enabled) {
+            layout_start_nanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Handles the end of the CSS and layout pass of a pulse.
+     * 
+     * <p>
+     * Finishes the measurement of a click waiting for this pulse.
+     * </p>
+     */
+    private void handlePostLayout() {
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        if (layout_start_nanos != 0) {
+            layout_histogram.record(now - layout_start_nanos);
+            layout_start_nanos = 0;
+        }
+
+        if (click_start_nanos != 0) {
+            click_histogram.record(now - click_start_nanos);
+            click_start_nanos = 0;
+        }
+    }
+
+    /**
+     * Handles a new frame.
+     * 
+     * <p>
+     * Records the time since the previous frame and refreshes the overlay text
+     * a few times per second.
+     * </p>
+     * 
+     * @param now Time of the frame in nanoseconds
+     */
+    private void handleFrame(long now) {
+        if (previous_frame_nanos != 0) {
+            frame_histogram.record(now - previous_frame_nanos);
+        }
+        previous_frame_nanos = now;
+        frames_since_refresh++;
+
+        long since_refresh = now - last_refresh_nanos;
+        if (since_refresh >= REFRESH_INTERVAL_NANOS) {
+            fps = frames_since_refresh * 1_000_000_000.0 / since_refresh;
+            frames_since_refresh = 0;
+            last_refresh_nanos = now;
+            label.setText(createText());
+        }
+    }
+
+    /**
+     * Creates the text of the overlay.
+     * 
+     * @return The text with the frame rate and all latencies in milliseconds
+     */
+    private String createText() {
+        StringBuilder text = new StringBuilder();
+
+        text.append(String.format("FPS %.1f%n", fps));
+        appendHistogram(text, "frame", frame_histogram);
+        appendHistogram(text, "layout", layout_histogram);
+        appendHistogram(text, "click", click_histogram);
+        appendHistogram(text, " model", model_histogram);
+        appendHistogram(text, " wait", wait_histogram);
+        appendHistogram(text, " view", view_histogram);
+
+        return text.toString();
+    }
+
+    /**
+     * Appends a line with the percentiles of a histogram to a text.
+     * 
+     * @param text      The text to append to
+     * @param name      The name of the measured latency
+     * @param histogram The histogram of the latency
+     */
+    private static void appendHistogram(StringBuilder text, String name, LatencyHistogram histogram) {
+        text.append(String.format("%-7s p50 %6.2f  p99 %6.2f  max %6.2f ms  (%d)%n", name,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getMax() / NANOS_PER_MILLI, histogram.getTotalCount()));
+    }
+}
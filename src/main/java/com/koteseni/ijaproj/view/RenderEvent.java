@@ -0,0 +1,34 @@
+// JFR event recorded for every update of a board view and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.view;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event recorded for every update of a board view.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+@Name("com.koteseni.ijaproj.Render")
+@Label("Board Render")
+@Category({ "Koteseni", "View" })
+@Description("Update of the board view after the board changed")
+final class RenderEvent extends Event {
+
+    /** Number of rows of the board. */
+    @Label("Rows")
+    int rows;
+
+    /** Number of columns of the board. */
+    @Label("Columns")
+    int cols;
+
+    /** Name of the renderer class. */
+    @Label("Renderer")
+    String renderer;
+}
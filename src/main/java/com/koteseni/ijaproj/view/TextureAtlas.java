@@ -0,0 +1,220 @@
+// Class packing the board sprites into a single pre-rotated texture and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.view;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.koteseni.ijaproj.model.WireShape;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * Packs all sprites of the game board into a single texture.
+ * 
+ * <p>
+ * Every sprite is scaled to the tile size once and stored in all four
+ * rotations, one sprite per row and one rotation per column. Renderers then
+ * only copy a region of the texture instead of scaling and rotating the images
+ * on every frame. Atlases are shared by the whole application, one for every
+ * tile size.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+public final class TextureAtlas {
+
+    /** Sprite of the grass background. */
+    public static final int GRASS = 0;
+
+    /** Sprite of the redstone block background under the source. */
+    public static final int REDSTONE_BLOCK = 1;
+
+    /** Sprite of the unpowered light bulb, the powered one follows. */
+    public static final int TORCH_OFF = 2;
+
+    /** Sprite of the unpowered I wire, other shapes follow in WireShape order, each off then on. */
+    public static final int WIRE_OFF = 4;
+
+    /** Number of rotations stored for every sprite. */
+    private static final int ROTATION_COUNT = 4;
+
+    /** Directory of the sprite images. */
+    private static final String ASSETS_PATH = "/com/koteseni/ijaproj/assets/";
+
+    /** Atlases already built, keyed by tile size. */
+    private static final Map<Integer, TextureAtlas> atlases = new ConcurrentHashMap<>();
+
+    /** The texture with all sprites. */
+    private final WritableImage image;
+
+    /** Regions of all sprites in the texture indexed by sprite * 4 + quarter turns. */
+    private final Rectangle2D[] regions;
+
+    /**
+     * Creates a new atlas with all sprites scaled to a tile size.
+     * 
+     * @param tile_size Width and height of a single sprite in pixels
+     */
+    private TextureAtlas(int tile_size) {
+        String[] sprite_names = getSpriteNames();
+
+        image = new WritableImage(tile_size * ROTATION_COUNT, tile_size * sprite_names.length);
+        regions = new Rectangle2D[sprite_names.length * ROTATION_COUNT];
+
+        for (int sprite = 0; sprite < sprite_names.length; sprite++) {
+            Image sprite_image = loadSprite(sprite_names[sprite], tile_size);
+
+            for (int quarter = 0; quarter < ROTATION_COUNT; quarter++) {
+                int x = quarter * tile_size;
+                int y = sprite * tile_size;
+
+                regions[sprite * ROTATION_COUNT + quarter] = new Rectangle2D(x, y, tile_size, tile_size);
+                if (sprite_image != null) {
+                    drawRotated(sprite_image.getPixelReader(), image.getPixelWriter(), x, y, tile_size, quarter);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the atlas for a tile size, building it on first use.
+     * 
+     * @param tile_size Width and height of a single sprite in pixels
+     * 
+     * @return The atlas for the tile size
+     */
+    public static TextureAtlas get(int tile_size) {
+        return atlases.computeIfAbsent(tile_size, TextureAtlas::new);
+    }
+
+    /**
+     * Gets the texture with all sprites.
+     * 
+     * @return The texture
+     */
+    public Image getImage() {
+        return image;
+    }
+
+    /**
+     * Gets the region of a rotated sprite in the texture.
+     * 
+     * @param sprite  The sprite, one of the sprite constants
+     * @param quarter Number of clockwise quarter turns, 0 to 3
+     * 
+     * @return The region of the sprite, the same instance for every call
+     */
+    public Rectangle2D getRegion(int sprite, int quarter) {
+        return regions[sprite * ROTATION_COUNT + quarter];
+    }
+
+    /**
+     * Gets the sprite of a wire or source shape.
+     * 
+     * @param shape   The shape of the wire
+     * @param powered Whether the wire is powered
+     * 
+     * @return The sprite of the wire
+     */
+    public static int getWireSprite(WireShape shape, boolean powered) {
+        return WIRE_OFF + shape.ordinal() * 2 + (powered ? 1 : 0);
+    }
+
+    /**
+     * Gets the sprite of a light bulb.
+     * 
+     * @param powered Whether the light bulb is powered
+     * 
+     * @return The sprite of the light bulb
+     */
+    public static int getTorchSprite(boolean powered) {
+        return TORCH_OFF + (powered ? 1 : 0);
+    }
+
+    /**
+     * Gets the file names of all sprites in the order of their indices.
+     * 
+     * @return The file names without the extension
+     */
+    private static String[] getSpriteNames() {
+        WireShape[] shapes = WireShape.values();
+        String[] names = new String[WIRE_OFF + shapes.length * 2];
+
+        names[GRASS] = "grass_block_top";
+        names[REDSTONE_BLOCK] = "redstone_block";
+        names[TORCH_OFF] = "redstone_torch_off";
+        names[TORCH_OFF + 1] = "redstone_torch_on";
+        for (WireShape shape : shapes) {
+            names[getWireSprite(shape, false)] = "redstone_" + shape.name() + "_off";
+            names[getWireSprite(shape, true)] = "redstone_" + shape.name() + "_on";
+        }
+
+        return names;
+    }
+
+    /**
+     * Loads a sprite from the assets/ directory scaled to the tile size.
+     * 
+     * @param name      The file name of the sprite without the extension
+     * @param tile_size Width and height of the sprite in pixels
+     * 
+     * @return The loaded sprite, or null if the sprite could not be loaded
+     */
+    private static Image loadSprite(String name, int tile_size) {
+        String path = ASSETS_PATH + name + ".png";
+
+        try (InputStream stream = TextureAtlas.class.getResourceAsStream(path)) {
+            if (stream == null) {
+                System.err.println("Error loading image: " + path);
+                return null;
+            }
+
+            Image sprite_image = new Image(stream, tile_size, tile_size, false, true);
+            if (sprite_image.isError()) {
+                System.err.println("Error loading image: " + path);
+                return null;
+            }
+
+            return sprite_image;
+        } catch (IOException e) {
+            System.err.println("Error loading image: " + path);
+            return null;
+        }
+    }
+
+    /**
+     * Copies a sprite into the texture rotated clockwise by quarter turns.
+     * 
+     * @param reader    Pixel reader of the sprite
+     * @param writer    Pixel writer of the texture
+     * @param x         Left edge of the target region
+     * @param y         Top edge of the target region
+     * @param tile_size Width and height of the sprite in pixels
+     * @param quarter   Number of clockwise quarter turns, 0 to 3
+     */
+    private static void drawRotated(PixelReader reader, PixelWriter writer, int x, int y, int tile_size,
+            int quarter) {
+        int last = tile_size - 1;
+
+        for (int target_y = 0; target_y < tile_size; target_y++) {
+            for (int target_x = 0; target_x < tile_size; target_x++) {
+                int argb = switch (quarter) {
+                    case 1 -> reader.getArgb(target_y, last - target_x);
+                    case 2 -> reader.getArgb(last - target_x, last - target_y);
+                    case 3 -> reader.getArgb(last - target_y, target_x);
+                    default -> reader.getArgb(target_x, target_y);
+                };
+
+                writer.setArgb(x + target_x, y + target_y, argb);
+            }
+        }
+    }
+}
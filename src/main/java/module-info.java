@@ -8,6 +8,8 @@ module com.koteseni.ijaproj {
 
     requires gson;
     requires java.sql;
+    requires java.management;
+    requires jdk.jfr;
 
     opens com.koteseni.ijaproj to javafx.fxml;
     opens com.koteseni.ijaproj.controller to javafx.fxml;
@@ -0,0 +1,383 @@
+// Tests checking the allocations of the hot paths against budgets and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.koteseni.ijaproj.model.Board;
+import com.koteseni.ijaproj.model.BoardGenerator;
+import com.koteseni.ijaproj.model.GameLogger;
+import com.koteseni.ijaproj.model.Tile;
+import com.koteseni.ijaproj.view.BoardRenderer;
+import com.koteseni.ijaproj.view.BoardView;
+
+import javafx.application.Platform;
+import javafx.scene.layout.GridPane;
+
+/**
+ * Tests checking the allocations of the hot paths against budgets.
+ * 
+ * <p>
+ * Runs every operation on a board of the largest difficulty until the JIT has
+ * compiled it, then measures the bytes the current thread allocates per
+ * operation with {@code com.sun.management.ThreadMXBean}. Every operation
+ * expects the bytes per operation it allocates today with the default JVM
+ * settings. The measured bytes may differ from them by {@value #MARGIN} times
+ * the expected bytes plus {@value #NOISE_BYTES} bytes of noise. A change
+ * adding allocations to a hot path fails the tests, and so does a change
+ * removing them until the expected bytes are lowered, so removed allocations
+ * do not come back unnoticed. Other JVM settings, like a different garbage
+ * collector or no compressed pointers, change the allocated bytes and need
+ * their own expected bytes. The tests run in a JVM of their own, as the code
+ * of other tests run before them changes what the JIT inlines.
+ * </p>
+ * 
+ * <p>
+ * The view update needs the JavaFX toolkit. Without a display its test is
+ * skipped, the model operations are checked anyway.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class AllocationBudgetTest {
+
+    /** Number of rows and columns of the measured board, the largest difficulty. */
+    private static final int BOARD_SIZE = 11;
+
+    /** Seed of the measured board and the order of the rotated tiles. */
+    private static final long SEED = 0x6B6F7465L;
+
+    /**
+     * Number of operations run before measuring, so the JIT compiles them with
+     * all inlining. Shorter warmups measured some operations before that.
+     */
+    private static final int WARMUP_OPERATIONS = 500_000;
+
+    /** Number of measured operations. */
+    private static final int MEASURED_OPERATIONS = 20_000;
+
+    /** Number of view updates run before measuring. */
+    private static final int VIEW_WARMUP_OPERATIONS = 5_000;
+
+    /** Number of measured view updates. */
+    private static final int VIEW_MEASURED_OPERATIONS = 2_000;
+
+    /** Number of moves logged into one logger before it is replaced by a new one. */
+    private static final int LOG_MOVE_BATCH = 1_000;
+
+    /** Time to wait for the JavaFX toolkit and the view updates, in seconds. */
+    private static final long VIEW_TIMEOUT_SECONDS = 60;
+
+    /** Allowed difference from the expected bytes, as a share of them. */
+    private static final double MARGIN = 0.25;
+
+    /** Allowed difference from the expected bytes for the noise of the measurement, in bytes per operation. */
+    private static final double NOISE_BYTES = 8;
+
+    /** Expected bytes of a player move with its power update, measured 82 to 98, in bytes per operation. */
+    private static final double TURN_TILE_BYTES = 88;
+
+    /** Expected bytes of a full power propagation, in bytes per operation. */
+    private static final double PROPAGATE_POWER_BYTES = 224;
+
+    /** Expected bytes of the win check, in bytes per operation. */
+    private static final double WIN_CHECK_BYTES = 0;
+
+    /** Expected bytes of logging a move, in bytes per operation. */
+    private static final double LOG_MOVE_BYTES = 47;
+
+    /**
+     * Budget of updating the view after a move, in bytes per operation. Not
+     * measured yet, as the model was measured without a display, so only the
+     * budget is checked.
+     */
+    private static final double VIEW_UPDATE_BUDGET = 1024;
+
+    /** Measures the bytes allocated by a thread. */
+    private com.sun.management.ThreadMXBean thread_bean;
+
+    /** The measured board. */
+    private Board board;
+
+    /** Tiles rotated by the moves, in order. */
+    private Tile[] tiles;
+
+    /** Index of the next rotated tile. */
+    private int next_tile;
+
+    /** Logger of the logged moves, replaced after every batch. */
+    private GameLogger game_logger;
+
+    /** Number of moves logged into the current logger. */
+    private int logged_moves;
+
+    /** Sum of the results of all operations, so their work is not eliminated. */
+    private long sink;
+
+    /**
+     * A single measured operation.
+     */
+    @FunctionalInterface
+    private interface Operation {
+
+        /**
+         * Runs the operation once.
+         * 
+         * @return Any value of the result, so the work is not eliminated
+         */
+        long run();
+    }
+
+    /**
+     * Generates a board of the largest difficulty and the sequence of rotated
+     * tiles.
+     */
+    @BeforeEach
+    void setUp() {
+        thread_bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        thread_bean.setThreadAllocatedMemoryEnabled(true);
+
+        Random random = new Random(SEED);
+        board = new Board(BOARD_SIZE, BOARD_SIZE);
+        new BoardGenerator(board, random).generate();
+
+        List<Tile> board_tiles = new ArrayList<>();
+        for (int row = 0; row < BOARD_SIZE; row++) {
+            for (int col = 0; col < BOARD_SIZE; col++) {
+                if (board.getTile(row, col) != null) {
+                    board_tiles.add(board.getTile(row, col));
+                }
+            }
+        }
+
+        tiles = new Tile[1024];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = board_tiles.get(random.nextInt(board_tiles.size()));
+        }
+    }
+
+    /**
+     * Checks the allocations of a player move with its power update.
+     */
+    @Test
+    void turnTileStaysWithinBudget() {
+        assertWithinBudget("Board.turnTile", TURN_TILE_BYTES, WARMUP_OPERATIONS, MEASURED_OPERATIONS, () -> {
+            Tile tile = nextTile();
+            board.turnTile(tile.getRow(), tile.getCol());
+            return tile.getRotationCount();
+        });
+    }
+
+    /**
+     * Checks the allocations of a full power propagation.
+     */
+    @Test
+    void propagatePowerStaysWithinBudget() {
+        assertWithinBudget("Board.propagatePower", PROPAGATE_POWER_BYTES, WARMUP_OPERATIONS, MEASURED_OPERATIONS,
+                () -> {
+                    board.propagatePower();
+                    return board.getSource().isPowered() ? 1 : 0;
+                });
+    }
+
+    /**
+     * Checks the allocations of the win check.
+     */
+    @Test
+    void winCheckStaysWithinBudget() {
+        assertWithinBudget("Board.areAllLightBulbsPowered", WIN_CHECK_BYTES, WARMUP_OPERATIONS,
+                MEASURED_OPERATIONS, () -> board.areAllLightBulbsPowered() ? 1 : 0);
+    }
+
+    /**
+     * Checks the allocations of logging a move.
+     * 
+     * <p>
+     * The moves go into a new logger after every batch, so the move list stays
+     * as long as in a real game and the copies of an ever growing list are not
+     * measured. Creating the logger is not measured either.
+     * </p>
+     */
+    @Test
+    void logMoveStaysWithinBudget() {
+        assertWithinBudget("GameLogger.logMove", LOG_MOVE_BYTES, WARMUP_OPERATIONS, MEASURED_OPERATIONS, () -> {
+            if (game_logger == null || logged_moves == LOG_MOVE_BATCH) {
+                game_logger = new GameLogger(board, 4);
+                logged_moves = 0;
+            }
+        }, () -> {
+            Tile tile = nextTile();
+            game_logger.logMove(tile.getRow(), tile.getCol());
+            logged_moves++;
+            return tile.getRow();
+        });
+    }
+
+    /**
+     * Checks the allocations of updating the view after a move.
+     * 
+     * <p>
+     * Runs on the JavaFX application thread, as the view is only updated there.
+     * The first update creating the nodes of all tiles is not measured.
+     * </p>
+     * 
+     * @throws InterruptedException If interrupted while waiting for the updates
+     */
+    @Test
+    void viewUpdateStaysWithinBudget() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        boolean toolkit_available;
+        try {
+            Platform.startup(started::countDown);
+            toolkit_available = true;
+        } catch (RuntimeException e) {
+            toolkit_available = false;
+        }
+        assumeTrue(toolkit_available, "JavaFX toolkit not available");
+
+        double[] bytes_per_operation = new double[1];
+        CountDownLatch finished = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                BoardRenderer view = new BoardView(new GridPane(), board, null);
+                view.updateView();
+
+                // the move before every update is not measured, only the update
+                bytes_per_operation[0] = measure(VIEW_WARMUP_OPERATIONS, VIEW_MEASURED_OPERATIONS, () -> {
+                    Tile tile = nextTile();
+                    board.turnTile(tile.getRow(), tile.getCol());
+                }, () -> {
+                    view.updateView();
+                    return 0;
+                });
+            } finally {
+                finished.countDown();
+            }
+        });
+
+        try {
+            assertTrue(started.await(VIEW_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    && finished.await(VIEW_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                    "BoardView.updateView timed out after " + VIEW_TIMEOUT_SECONDS + "s");
+        } finally {
+            Platform.exit();
+        }
+
+        System.out.printf("%-30s %8.1f B/op (budget %.0f B/op)%n", "BoardView.updateView", bytes_per_operation[0],
+                VIEW_UPDATE_BUDGET);
+        assertTrue(bytes_per_operation[0] <= VIEW_UPDATE_BUDGET, String.format(
+                "BoardView.updateView allocates %.1f B/op, over its budget of %.0f B/op", bytes_per_operation[0],
+                VIEW_UPDATE_BUDGET));
+    }
+
+    /**
+     * Measures the bytes allocated by an operation and compares them with its
+     * expected bytes.
+     * 
+     * @param name                The name of the operation in the report
+     * @param expected_bytes      The expected bytes per operation
+     * @param warmup_operations   Number of runs before measuring
+     * @param measured_operations Number of measured runs
+     * @param operation           The operation
+     */
+    private void assertWithinBudget(String name, double expected_bytes, int warmup_operations,
+            int measured_operations, Operation operation) {
+        assertWithinBudget(name, expected_bytes, warmup_operations, measured_operations, () -> {
+        }, operation);
+    }
+
+    /**
+     * Measures the bytes allocated by an operation prepared before every run
+     * and compares them with its expected bytes.
+     * 
+     * @param name                The name of the operation in the report
+     * @param expected_bytes      The expected bytes per operation
+     * @param warmup_operations   Number of runs before measuring
+     * @param measured_operations Number of measured runs
+     * @param preparation         Work before every run, not measured
+     * @param operation           The operation
+     */
+    private void assertWithinBudget(String name, double expected_bytes, int warmup_operations,
+            int measured_operations, Runnable preparation, Operation operation) {
+        assertExpectedBytes(name, expected_bytes,
+                measure(warmup_operations, measured_operations, preparation, operation));
+    }
+
+    /**
+     * Measures the bytes allocated by an operation prepared before every run.
+     * 
+     * <p>
+     * Every run is measured on its own, so the preparation is not counted.
+     * Reading the allocated bytes of the current thread allocates nothing.
+     * </p>
+     * 
+     * @param warmup_operations   Number of runs before measuring
+     * @param measured_operations Number of measured runs
+     * @param preparation         Work before every run, not measured
+     * @param operation           The operation
+     * 
+     * @return The allocated bytes per measured run
+     */
+    private double measure(int warmup_operations, int measured_operations, Runnable preparation,
+            Operation operation) {
+        for (int i = 0; i < warmup_operations; i++) {
+            preparation.run();
+            sink += operation.run();
+        }
+
+        long allocated_bytes = 0;
+        for (int i = 0; i < measured_operations; i++) {
+            preparation.run();
+
+            long start_bytes = thread_bean.getCurrentThreadAllocatedBytes();
+            sink += operation.run();
+            allocated_bytes += thread_bean.getCurrentThreadAllocatedBytes() - start_bytes;
+        }
+
+        return (double) allocated_bytes / measured_operations;
+    }
+
+    /**
+     * Prints the allocated bytes of an operation and fails if they differ from
+     * its expected bytes by more than the margin.
+     * 
+     * @param name                The name of the operation in the report
+     * @param expected_bytes      The expected bytes per operation
+     * @param bytes_per_operation The measured bytes per operation
+     */
+    private void assertExpectedBytes(String name, double expected_bytes, double bytes_per_operation) {
+        double budget = expected_bytes * (1 + MARGIN) + NOISE_BYTES;
+        double lower_bound = Math.max(0, expected_bytes * (1 - MARGIN) - NOISE_BYTES);
+
+        System.out.printf("%-30s %8.1f B/op (expected %.0f B/op, allowed %.0f to %.0f B/op)%n", name,
+                bytes_per_operation, expected_bytes, lower_bound, budget);
+        assertTrue(bytes_per_operation <= budget, String.format("%s allocates %.1f B/op, over its budget of %.0f B/op",
+                name, bytes_per_operation, budget));
+        assertTrue(bytes_per_operation >= lower_bound, String.format(
+                "%s allocates %.1f B/op, below %.0f B/op, lower its expected bytes", name, bytes_per_operation,
+                lower_bound));
+    }
+
+    /**
+     * Gets the next tile of the fixed sequence.
+     * 
+     * @return The tile
+     */
+    private Tile nextTile() {
+        Tile tile = tiles[next_tile];
+        next_tile = (next_tile + 1) % tiles.length;
+        return tile;
+    }
+}
@@ -0,0 +1,145 @@
+// Tests of the power propagation of the board and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the power propagation of the board.
+ * 
+ * <p>
+ * A single move only extends the powered network when it rotates an unpowered
+ * tile, so the boards after every move are compared with a copy propagated
+ * from the source.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class BoardTest {
+
+    /** Number of generated boards, of every size from 3x3 to 14x14. */
+    private static final int BOARD_COUNT = 120;
+
+    /** Number of random moves on every board. */
+    private static final int MOVE_COUNT = 200;
+
+    /**
+     * Checks that the incremental power update after every move powers the same
+     * tiles as a full propagation.
+     */
+    @Test
+    void incrementalPropagationMatchesFullPropagation() {
+        for (int seed = 0; seed < BOARD_COUNT; seed++) {
+            Random random = new Random(seed);
+            Board board = generateBoard(3 + seed % 12, random);
+            List<Tile> tiles = getTiles(board);
+
+            for (int i = 0; i < MOVE_COUNT; i++) {
+                Tile tile = tiles.get(random.nextInt(tiles.size()));
+                if (random.nextInt(4) == 0) {
+                    board.turnTileBack(tile.getRow(), tile.getCol());
+                } else {
+                    board.turnTile(tile.getRow(), tile.getCol());
+                }
+
+                Board expected = board.deepCopy();
+                expected.propagatePower();
+                assertSameBoard(expected, board, "seed " + seed + ", move " + i);
+            }
+        }
+    }
+
+    /**
+     * Checks that reverting the moves in reverse order restores the board.
+     */
+    @Test
+    void revertMoveRestoresBoard() {
+        for (int seed = 0; seed < BOARD_COUNT; seed++) {
+            Random random = new Random(seed);
+            Board board = generateBoard(3 + seed % 12, random);
+            Board initial_board = board.deepCopy();
+            List<Tile> tiles = getTiles(board);
+
+            List<Move> moves = new ArrayList<>();
+            for (int i = 0; i < MOVE_COUNT; i++) {
+                Tile tile = tiles.get(random.nextInt(tiles.size()));
+                Move move = new Move(tile.getRow(), tile.getCol(), i, random.nextInt(4) == 0);
+                board.applyMove(move);
+                moves.add(move);
+            }
+
+            for (int i = moves.size() - 1; i >= 0; i--) {
+                board.revertMove(moves.get(i));
+            }
+
+            assertSameBoard(initial_board, board, "seed " + seed);
+        }
+    }
+
+    /**
+     * Generates a square board.
+     * 
+     * @param size   Number of rows and columns
+     * @param random Random generator of the board
+     * 
+     * @return The generated board
+     */
+    static Board generateBoard(int size, Random random) {
+        Board board = new Board(size, size);
+        new BoardGenerator(board, random).generate();
+
+        return board;
+    }
+
+    /**
+     * Gets all tiles of a board.
+     * 
+     * @param board The board
+     * 
+     * @return List of the tiles, row by row
+     */
+    static List<Tile> getTiles(Board board) {
+        List<Tile> tiles = new ArrayList<>();
+        for (int row = 0; row < board.getRows(); row++) {
+            for (int col = 0; col < board.getCols(); col++) {
+                if (board.getTile(row, col) != null) {
+                    tiles.add(board.getTile(row, col));
+                }
+            }
+        }
+
+        return tiles;
+    }
+
+    /**
+     * Checks that two boards have the same rotation and power state in every
+     * tile.
+     * 
+     * @param expected The expected board
+     * @param actual   The checked board
+     * @param message  Description of the boards for a failure
+     */
+    static void assertSameBoard(Board expected, Board actual, String message) {
+        for (int row = 0; row < expected.getRows(); row++) {
+            for (int col = 0; col < expected.getCols(); col++) {
+                Tile expected_tile = expected.getTile(row, col);
+                Tile actual_tile = actual.getTile(row, col);
+                if (expected_tile == null) {
+                    continue;
+                }
+
+                String position = message + ", tile " + row + "," + col;
+                assertEquals(expected_tile.getRotationCount(), actual_tile.getRotationCount(), position);
+                assertEquals(expected_tile.getConnections(), actual_tile.getConnections(), position);
+                assertEquals(expected_tile.isPowered(), actual_tile.isPowered(), position);
+            }
+        }
+    }
+}
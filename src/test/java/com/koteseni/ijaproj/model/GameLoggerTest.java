@@ -0,0 +1,75 @@
+// Tests of saving and loading games and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of saving and loading games.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class GameLoggerTest {
+
+    /** Directory for the save files. */
+    @TempDir
+    Path save_directory;
+
+    /**
+     * Checks that a loaded game has the dimensions, difficulty, initial board
+     * and moves of the saved game.
+     * 
+     * @throws IOException If the game cannot be saved or loaded
+     */
+    @Test
+    void loadedGameMatchesSavedGame() throws IOException {
+        Random random = new Random(3);
+        Board board = BoardTest.generateBoard(7, random);
+        Board initial_board = board.deepCopy();
+        List<Tile> tiles = BoardTest.getTiles(board);
+        GameLogger game_logger = new GameLogger(board, 2);
+
+        for (int i = 0; i < 50; i++) {
+            Tile tile = tiles.get(random.nextInt(tiles.size()));
+            if (i % 7 == 6) {
+                board.turnTileBack(tile.getRow(), tile.getCol());
+                game_logger.logUndo(tile.getRow(), tile.getCol());
+            } else {
+                board.turnTile(tile.getRow(), tile.getCol());
+                game_logger.logMove(tile.getRow(), tile.getCol());
+            }
+        }
+
+        GameState game_state = GameLogger.loadGame(game_logger.saveGame(save_directory));
+
+        assertEquals(7, game_state.getRows());
+        assertEquals(7, game_state.getCols());
+        assertEquals(2, game_state.getDifficulty());
+
+        Board loaded_board = game_state.createInitialBoard();
+        BoardTest.assertSameBoard(initial_board, loaded_board, "initial board");
+        for (Tile tile : BoardTest.getTiles(initial_board)) {
+            Tile loaded_tile = loaded_board.getTile(tile.getRow(), tile.getCol());
+            assertEquals(tile.getClass(), loaded_tile.getClass());
+            assertEquals(tile.getOrientation(), loaded_tile.getOrientation());
+        }
+
+        List<Move> moves = game_state.getMoves();
+        assertEquals(50, moves.size());
+        for (int i = 0; i < moves.size(); i++) {
+            assertEquals(i % 7 == 6, moves.get(i).isUndo(), "move " + i);
+        }
+
+        game_state.applyMoves(loaded_board, moves.size() - 1);
+        BoardTest.assertSameBoard(board, loaded_board, "final board");
+    }
+}
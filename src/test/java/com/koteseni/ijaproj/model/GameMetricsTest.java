@@ -0,0 +1,58 @@
+// Tests of recording the game metrics from several threads and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of recording the game metrics from several threads.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class GameMetricsTest {
+
+    /** Number of recording threads, more than the stripes of a histogram on most machines. */
+    private static final int THREAD_COUNT = 64;
+
+    /** Number of propagations recorded by every thread. */
+    private static final int PROPAGATION_COUNT = 10_000;
+
+    /**
+     * Checks that the snapshot merges the propagations recorded by all threads.
+     * 
+     * @throws InterruptedException If interrupted while waiting for the threads
+     */
+    @Test
+    void snapshotMergesAllThreads() throws InterruptedException {
+        GameMetrics metrics = GameMetrics.get();
+        metrics.reset();
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREAD_COUNT; i++) {
+            int visited_tiles = i + 1;
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < PROPAGATION_COUNT; j++) {
+                    metrics.recordPropagation(1000, visited_tiles);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        HistogramSnapshot tiles_visited = metrics.getTilesVisitedPerPropagation();
+        assertEquals((long) THREAD_COUNT * PROPAGATION_COUNT, tiles_visited.getCount());
+        assertEquals(THREAD_COUNT, tiles_visited.getMax());
+        assertEquals((THREAD_COUNT + 1) / 2.0, tiles_visited.getMean());
+        assertEquals((long) THREAD_COUNT * PROPAGATION_COUNT, metrics.getPropagationMicros().getCount());
+
+        metrics.reset();
+        assertEquals(0, metrics.getTilesVisitedPerPropagation().getCount());
+    }
+}
@@ -0,0 +1,109 @@
+// Tests of undoing moves and publishing their changes and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of undoing moves and publishing their changes.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class GameSessionTest {
+
+    /** Number of commands submitted to every session. */
+    private static final int COMMAND_COUNT = 500;
+
+    /** Directory for the save files of the sessions. */
+    @TempDir
+    Path save_directory;
+
+    /**
+     * Checks that turning a tile back equals three clockwise turns and undoes a
+     * clockwise turn, for every tile.
+     */
+    @Test
+    void undoEqualsThreeClockwiseTurns() {
+        for (int seed = 0; seed < 20; seed++) {
+            Board board = BoardTest.generateBoard(3 + seed % 12, new Random(seed));
+
+            for (Tile tile : BoardTest.getTiles(board)) {
+                int row = tile.getRow();
+                int col = tile.getCol();
+                String message = "seed " + seed + ", tile " + row + "," + col;
+
+                Board turned_back = board.deepCopy();
+                turned_back.turnTileBack(row, col);
+                Board turned_three_times = board.deepCopy();
+                for (int i = 0; i < 3; i++) {
+                    turned_three_times.turnTile(row, col);
+                }
+                BoardTest.assertSameBoard(turned_three_times, turned_back, message);
+
+                turned_back.turnTile(row, col);
+                BoardTest.assertSameBoard(board, turned_back, message);
+            }
+        }
+
+        assertEquals(3, new Move(0, 0, 0, true).getTurns());
+        assertEquals(1, new Move(0, 0, 0).getTurns());
+    }
+
+    /**
+     * Checks that a copy of the board updated only by the published change sets
+     * matches the board of the session and the replay of its save.
+     * 
+     * @throws IOException If the game cannot be loaded
+     */
+    @Test
+    void publishedChangesMatchBoard() throws IOException {
+        for (int seed = 0; seed < 20; seed++) {
+            Random random = new Random(seed);
+            Board board = BoardTest.generateBoard(3 + seed % 12, random);
+            List<Tile> tiles = BoardTest.getTiles(board);
+            Board view_board = board.deepCopy();
+            BoardChange[] last_change = new BoardChange[1];
+
+            GameSession game_session = new GameSession(board, new GameLogger(board, 1), change -> {
+                change.applyTo(view_board);
+                last_change[0] = change;
+            });
+
+            String save_path;
+            try {
+                for (int i = 0; i < COMMAND_COUNT; i++) {
+                    int command = random.nextInt(6);
+                    if (command == 0) {
+                        game_session.submit(new UndoMove());
+                    } else if (command == 1) {
+                        game_session.submit(new RedoMove());
+                    } else {
+                        Tile tile = tiles.get(random.nextInt(tiles.size()));
+                        game_session.submit(new RotateTile(tile.getRow(), tile.getCol()));
+                    }
+                }
+
+                // the save runs after all commands, so their changes are published
+                save_path = game_session.saveGame(save_directory.resolve("seed-" + seed)).join();
+            } finally {
+                game_session.close();
+            }
+
+            String message = "seed " + seed;
+            BoardTest.assertSameBoard(board, view_board, message);
+            assertEquals(board.areAllLightBulbsPowered(), last_change[0].isSolved(), message);
+
+            GameState game_state = GameLogger.loadGame(save_path);
+            BoardTest.assertSameBoard(game_state.createBoardAt(game_state.getTotalMoves() - 1), view_board, message);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+// Tests of seeking in a replayed game and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests of seeking in a replayed game.
+ * 
+ * <p>
+ * Every way of getting to a move of a saved game is compared with replaying
+ * the game one move at a time from its initial board.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class GameStateTest {
+
+    /** Number of moves of the replayed game, enough for several keyframes. */
+    private static final int MOVE_COUNT = 300;
+
+    /** Directory for the save file of the replayed game. */
+    @TempDir
+    Path save_directory;
+
+    /**
+     * Checks that the boards restored from keyframes match the step by step
+     * replay, asked for in random order.
+     * 
+     * @throws IOException If the game cannot be saved or loaded
+     */
+    @Test
+    void keyframeBoardsMatchStepByStepReplay() throws IOException {
+        Random random = new Random(1);
+        GameState game_state = createGame(random);
+        List<Board> replay = replayStepByStep(game_state);
+
+        for (int i = 0; i < replay.size(); i++) {
+            int move_index = random.nextInt(replay.size()) - 1;
+            Board board = game_state.createBoardAt(move_index);
+            BoardTest.assertSameBoard(replay.get(move_index + 1), board, "move " + move_index);
+        }
+    }
+
+    /**
+     * Checks that seeking one board forward and backward to random moves
+     * matches the step by step replay.
+     * 
+     * @throws IOException If the game cannot be saved or loaded
+     */
+    @Test
+    void seekMatchesStepByStepReplay() throws IOException {
+        Random random = new Random(2);
+        GameState game_state = createGame(random);
+        List<Board> replay = replayStepByStep(game_state);
+
+        Board board = game_state.createInitialBoard();
+        int current_move_index = -1;
+        for (int i = 0; i < replay.size(); i++) {
+            int move_index = random.nextInt(replay.size()) - 1;
+            game_state.seek(board, current_move_index, move_index);
+            current_move_index = move_index;
+            BoardTest.assertSameBoard(replay.get(move_index + 1), board, "move " + move_index);
+        }
+    }
+
+    /**
+     * Plays a game with random moves and undos, saves it and loads it back.
+     * 
+     * @param random Random generator of the board and the moves
+     * 
+     * @return The loaded game
+     * 
+     * @throws IOException If the game cannot be saved or loaded
+     */
+    private GameState createGame(Random random) throws IOException {
+        Board board = BoardTest.generateBoard(8, random);
+        List<Tile> tiles = BoardTest.getTiles(board);
+        GameLogger game_logger = new GameLogger(board, 3);
+
+        for (int i = 0; i < MOVE_COUNT; i++) {
+            Tile tile = tiles.get(random.nextInt(tiles.size()));
+            if (random.nextInt(5) == 0) {
+                game_logger.logUndo(tile.getRow(), tile.getCol());
+            } else {
+                game_logger.logMove(tile.getRow(), tile.getCol());
+            }
+        }
+
+        return GameLogger.loadGame(game_logger.saveGame(save_directory));
+    }
+
+    /**
+     * Replays a game one move at a time.
+     * 
+     * @param game_state The replayed game
+     * 
+     * @return Copies of the board before the first move and after every move
+     */
+    private List<Board> replayStepByStep(GameState game_state) {
+        List<Board> boards = new ArrayList<>();
+        Board board = game_state.createInitialBoard();
+        boards.add(board.deepCopy());
+
+        for (Move move : game_state.getMoves()) {
+            board.applyMove(move);
+            boards.add(board.deepCopy());
+        }
+
+        return boards;
+    }
+}
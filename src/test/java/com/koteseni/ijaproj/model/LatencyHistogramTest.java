@@ -0,0 +1,153 @@
+// Tests of the bucket and percentile math of the latency histogram and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the bucket and percentile math of the latency histogram.
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class LatencyHistogramTest {
+
+    /** Value recorded above the checked one, so the percentile is not capped by the maximum. */
+    private static final long LARGE_VALUE = 1L << 62;
+
+    /**
+     * Checks that values below 64 are kept exactly.
+     */
+    @Test
+    void smallValuesAreExact() {
+        for (long value = 0; value < 64; value++) {
+            assertEquals(value, getBucketHighestValue(value), "value " + value);
+        }
+    }
+
+    /**
+     * Checks that the highest value of the bucket of any value is at most 1/32
+     * above it.
+     */
+    @Test
+    void bucketsKeepRelativePrecision() {
+        Random random = new Random(4);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextLong(1L << random.nextInt(1, 61));
+            long highest_value = getBucketHighestValue(value);
+
+            assertTrue(highest_value >= value, "value " + value + " in bucket up to " + highest_value);
+            assertTrue(highest_value - value <= value / 32, "value " + value + " in bucket up to " + highest_value);
+            assertTrue(getBucketHighestValue(highest_value + 1) > highest_value, "bucket after value " + value);
+        }
+
+        assertEquals(65, getBucketHighestValue(64));
+        assertEquals(65, getBucketHighestValue(65));
+        assertEquals(67, getBucketHighestValue(66));
+    }
+
+    /**
+     * Checks the percentiles, count, mean and maximum of uniformly recorded
+     * values.
+     */
+    @Test
+    void percentilesOfUniformValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 32; value++) {
+            histogram.record(value);
+        }
+
+        assertEquals(32, histogram.getTotalCount());
+        assertEquals(32, histogram.getMax());
+        assertEquals(16.5, histogram.getMean());
+        assertEquals(1, histogram.getValueAtPercentile(0));
+        assertEquals(16, histogram.getValueAtPercentile(50));
+        assertEquals(32, histogram.getValueAtPercentile(99));
+        assertEquals(32, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Checks that percentiles are capped by the highest recorded value.
+     */
+    @Test
+    void percentileIsCappedByMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+
+        assertEquals(1_000_001, histogram.getValueAtPercentile(50));
+        assertEquals(1_000_001, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Checks an empty histogram, negative values and resetting.
+     */
+    @Test
+    void emptyNegativeAndReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getTotalCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+
+        histogram.record(500);
+        histogram.reset();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    /**
+     * Checks that merged histograms equal one histogram recording all values.
+     */
+    @Test
+    void addedHistogramsMatchSingleHistogram() {
+        Random random = new Random(5);
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 1_000; i++) {
+            long value = random.nextLong(10_000_000);
+            all.record(value);
+            (i % 3 == 0 ? first : second).record(value);
+        }
+
+        first.add(second);
+
+        assertEquals(all.getTotalCount(), first.getTotalCount());
+        assertEquals(all.getMax(), first.getMax());
+        assertEquals(all.getMean(), first.getMean());
+        for (double percentile : new double[] { 0, 10, 50, 90, 99, 99.9, 100 }) {
+            assertEquals(all.getValueAtPercentile(percentile), first.getValueAtPercentile(percentile),
+                    "percentile " + percentile);
+        }
+    }
+
+    /**
+     * Gets the highest value of the bucket a value is recorded into.
+     * 
+     * <p>
+     * A larger value is recorded too, so the median is the highest value of
+     * the bucket and not capped by the maximum.
+     * </p>
+     * 
+     * @param value The value
+     * 
+     * @return The highest value of its bucket
+     */
+    private static long getBucketHighestValue(long value) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(value);
+        histogram.record(LARGE_VALUE);
+
+        return histogram.getValueAtPercentile(50);
+    }
+}
@@ -0,0 +1,120 @@
+// Tests of the orientation table of the wire shapes and it's methods.
+// Authors: Lukas Pseja (xpsejal00), Vaclav Sovak (xsovakv00)
+
+package com.koteseni.ijaproj.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.EnumSet;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the orientation table of the wire shapes.
+ * 
+ * <p>
+ * The expected orientations are the ones the renderers picked by matching the
+ * connections of a tile before the table existed.
+ * </p>
+ * 
+ * @author ≽^•⩊•^≼ The Koteseni Team ≽^•⩊•^≼
+ */
+class WireShapeTest {
+
+    /**
+     * Checks the orientation of wires and sources of every shape in every
+     * rotation.
+     */
+    @Test
+    void orientationMatchesConnections() {
+        for (WireShape shape : WireShape.values()) {
+            Tile wire = new Wire(0, 0, shape);
+            Tile source = new Source(0, 0, shape);
+
+            for (int rotation = 0; rotation < 4; rotation++) {
+                String message = shape + " turned " + rotation + " times";
+                assertEquals(getExpectedOrientation(shape, wire), wire.getOrientation(), "wire " + message);
+                assertEquals(getExpectedOrientation(shape, source), source.getOrientation(), "source " + message);
+
+                wire.turn();
+                source.turn();
+            }
+        }
+    }
+
+    /**
+     * Checks the orientation of light bulbs pointing in every direction.
+     */
+    @Test
+    void lightBulbOrientationMatchesDirection() {
+        assertEquals(0, new LightBulb(0, 0, Direction.NORTH).getOrientation());
+        assertEquals(1, new LightBulb(0, 0, Direction.EAST).getOrientation());
+        assertEquals(2, new LightBulb(0, 0, Direction.SOUTH).getOrientation());
+        assertEquals(3, new LightBulb(0, 0, Direction.WEST).getOrientation());
+
+        Tile light_bulb = new LightBulb(0, 0, Direction.NORTH);
+        light_bulb.turn(3);
+        assertEquals(3, light_bulb.getOrientation());
+    }
+
+    /**
+     * Checks that the shape found from the connections of a tile is the shape
+     * of the tile.
+     */
+    @Test
+    void fromConnectionsFindsShape() {
+        for (WireShape shape : WireShape.values()) {
+            Tile wire = new Wire(0, 0, shape);
+            for (int rotation = 0; rotation < 4; rotation++) {
+                assertEquals(shape, WireShape.fromConnections(wire.getConnections()), shape + " turned " + rotation);
+                wire.turn();
+            }
+        }
+    }
+
+    /**
+     * Gets the orientation of a tile image by matching its connections.
+     * 
+     * @param shape The shape of the tile
+     * @param tile  The tile
+     * 
+     * @return The orientation from 0 to 3
+     */
+    private static int getExpectedOrientation(WireShape shape, Tile tile) {
+        EnumSet<Direction> connections = tile.getConnections();
+
+        return switch (shape) {
+            case I -> connections.contains(Direction.NORTH) ? 0 : 1;
+            case L -> getMatchingOrientation(connections,
+                    EnumSet.of(Direction.SOUTH, Direction.WEST),
+                    EnumSet.of(Direction.WEST, Direction.NORTH),
+                    EnumSet.of(Direction.NORTH, Direction.EAST),
+                    EnumSet.of(Direction.EAST, Direction.SOUTH));
+            case T -> getMatchingOrientation(connections,
+                    EnumSet.of(Direction.SOUTH, Direction.WEST, Direction.NORTH),
+                    EnumSet.of(Direction.WEST, Direction.NORTH, Direction.EAST),
+                    EnumSet.of(Direction.NORTH, Direction.EAST, Direction.SOUTH),
+                    EnumSet.of(Direction.EAST, Direction.SOUTH, Direction.WEST));
+            case X -> tile.getRotationCount();
+        };
+    }
+
+    /**
+     * Gets the first orientation whose connections the tile has.
+     * 
+     * @param connections  The connections of the tile
+     * @param orientations The connections of every orientation, in order
+     * 
+     * @return The index of the matching orientation, 0 if none matches
+     */
+    @SafeVarargs
+    private static int getMatchingOrientation(EnumSet<Direction> connections, EnumSet<Direction>... orientations) {
+        for (int orientation = 0; orientation < orientations.length; orientation++) {
+            if (connections.containsAll(orientations[orientation])) {
+                return orientation;
+            }
+        }
+
+        return 0;
+    }
+}